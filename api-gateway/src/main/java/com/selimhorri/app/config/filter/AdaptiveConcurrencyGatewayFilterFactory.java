@@ -0,0 +1,104 @@
+package com.selimhorri.app.config.filter;
+
+import java.time.Duration;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.RouteToRequestUrlFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import reactor.core.publisher.SignalType;
+
+@Component
+public class AdaptiveConcurrencyGatewayFilterFactory extends AbstractGatewayFilterFactory<AdaptiveConcurrencyGatewayFilterFactory.Config> {
+	
+	public static final int ORDER = RouteToRequestUrlFilter.ROUTE_TO_URL_FILTER_ORDER - 1;
+	
+	private final MeterRegistry meterRegistry;
+	
+	public AdaptiveConcurrencyGatewayFilterFactory(final MeterRegistry meterRegistry) {
+		super(Config.class);
+		this.meterRegistry = meterRegistry;
+	}
+	
+	@Override
+	public GatewayFilter apply(final Config config) {
+		
+		final GradientLimit limit = new GradientLimit(config);
+		final String routeId = config.getRouteId() == null ? "unknown" : config.getRouteId();
+		this.monitor(routeId, limit);
+		
+		// after every positional route filter, so cache hits and rate-limited requests never take a slot
+		return new OrderedGatewayFilter((exchange, chain) -> {
+			
+			if (!limit.tryAcquire()) {
+				this.meterRegistry.counter("gateway.concurrency.rejected", "route", routeId).increment();
+				ServerWebExchangeUtils.setResponseStatus(exchange, HttpStatus.SERVICE_UNAVAILABLE);
+				exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(config.getRetryAfter().toSeconds()));
+				return exchange.getResponse().setComplete();
+			}
+			
+			final long start = System.nanoTime();
+			return chain.filter(exchange).doFinally(signal -> {
+				final boolean deadlineExceeded = Boolean.TRUE.equals(exchange.getAttribute(DeadlineGlobalFilter.DEADLINE_EXCEEDED_ATTR));
+				// the client went away, that says nothing about the backend
+				if (signal == SignalType.CANCEL && !deadlineExceeded) {
+					limit.ignore();
+					return;
+				}
+				final HttpStatus status = exchange.getResponse().getStatusCode();
+				final boolean dropped = signal == SignalType.ON_ERROR || deadlineExceeded
+						|| (status != null && status.is5xxServerError());
+				limit.release(System.nanoTime() - start, dropped);
+			});
+		}, ORDER);
+	}
+	
+	private void monitor(final String routeId, final GradientLimit limit) {
+		// routes are rebuilt on refresh, drop gauges bound to the previous limiter
+		final Tags tags = Tags.of("route", routeId);
+		this.meterRegistry.find("gateway.concurrency.limit").tags(tags).meters().forEach(this.meterRegistry::remove);
+		this.meterRegistry.find("gateway.concurrency.inflight").tags(tags).meters().forEach(this.meterRegistry::remove);
+		Gauge.builder("gateway.concurrency.limit", limit, GradientLimit::getLimit)
+				.tags(tags)
+				.register(this.meterRegistry);
+		Gauge.builder("gateway.concurrency.inflight", limit, GradientLimit::getInflight)
+				.tags(tags)
+				.register(this.meterRegistry);
+	}
+	
+	@Data
+	@NoArgsConstructor
+	public static class Config implements HasRouteId {
+		private String routeId;
+		private int initialLimit = 20;
+		private int minLimit = 4;
+		private int maxLimit = 500;
+		private double rttTolerance = 1.5;
+		private double smoothing = 0.2;
+		private Duration retryAfter = Duration.ofSeconds(1);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
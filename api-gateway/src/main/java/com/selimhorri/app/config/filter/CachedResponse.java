@@ -0,0 +1,94 @@
+package com.selimhorri.app.config.filter;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+final class CachedResponse {
+	
+	private static final Pattern MAX_AGE = Pattern.compile("(?:^|[,\\s])(s-maxage|max-age)\\s*=\\s*\"?(\\d+)");
+	
+	private final HttpStatus status;
+	private final HttpHeaders headers;
+	private final byte[] body;
+	private final String etag;
+	private final long storedAt;
+	private final long freshUntil;
+	
+	boolean isFresh(final long now) {
+		return now < this.freshUntil;
+	}
+	
+	CachedResponse revalidate(final HttpHeaders notModifiedHeaders, 
+			final ResponseCacheGatewayFilterFactory.Config config, final long now) {
+		final var source = notModifiedHeaders.getCacheControl() != null ? notModifiedHeaders : this.headers;
+		return new CachedResponse(this.status, this.headers, this.body, this.etag, now, now + freshness(source, config));
+	}
+	
+	static boolean isCacheable(final HttpStatus status, final HttpHeaders headers) {
+		if (status != HttpStatus.OK || headers.containsKey(HttpHeaders.SET_COOKIE) || "*".equals(headers.getFirst(HttpHeaders.VARY)))
+			return false;
+		final var cacheControl = String.valueOf(headers.getCacheControl()).toLowerCase(Locale.ROOT);
+		return !cacheControl.contains("no-store") && !cacheControl.contains("private");
+	}
+	
+	static Optional<CachedResponse> of(final HttpStatus status, final HttpHeaders headers, final byte[] body, 
+			final ResponseCacheGatewayFilterFactory.Config config, final long now) {
+		
+		final long freshness = freshness(headers, config);
+		final String etag = headers.getETag();
+		
+		// nothing to gain from an entry that can neither be served nor revalidated
+		if (freshness <= 0 && etag == null)
+			return Optional.empty();
+		
+		final var copy = new HttpHeaders();
+		copy.putAll(headers);
+		copy.remove(HttpHeaders.TRANSFER_ENCODING);
+		return Optional.of(new CachedResponse(status, copy, body, etag, now, now + freshness));
+	}
+	
+	private static long freshness(final HttpHeaders headers, final ResponseCacheGatewayFilterFactory.Config config) {
+		
+		final var cacheControl = headers.getCacheControl();
+		if (cacheControl == null)
+			return config.getTimeToLive().toMillis();
+		
+		final var directives = cacheControl.toLowerCase(Locale.ROOT);
+		if (directives.contains("no-cache"))
+			return 0L;
+		
+		long maxAge = -1L;
+		final Matcher matcher = MAX_AGE.matcher(directives);
+		while (matcher.find()) {
+			final long seconds = Long.parseLong(matcher.group(2));
+			// s-maxage targets shared caches and wins over max-age
+			if ("s-maxage".equals(matcher.group(1)) || maxAge < 0)
+				maxAge = seconds;
+		}
+		return maxAge < 0 ? config.getTimeToLive().toMillis() : maxAge * 1000L;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
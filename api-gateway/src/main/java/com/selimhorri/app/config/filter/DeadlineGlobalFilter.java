@@ -0,0 +1,88 @@
+package com.selimhorri.app.config.filter;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.selimhorri.commons.deadline.Deadline;
+import com.selimhorri.commons.deadline.DeadlineProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Stamps every routed request with an absolute deadline, taken from the route's {@code deadline} metadata
+ * or the default budget, and stops waiting on the downstream once it passes.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeadlineGlobalFilter implements GlobalFilter, Ordered {
+	
+	public static final String DEADLINE_METADATA = "deadline";
+	
+	/**
+	 * Set before the timeout cancels the chain, so filters inside it can tell an expired deadline
+	 * from a client that went away.
+	 */
+	public static final String DEADLINE_EXCEEDED_ATTR = DeadlineGlobalFilter.class.getName() + ".deadlineExceeded";
+	
+	private final DeadlineProperties deadlineProperties;
+	private final MeterRegistry meterRegistry;
+	
+	@Override
+	public Mono<Void> filter(final ServerWebExchange exchange, final GatewayFilterChain chain) {
+		
+		final Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		// a client may ask for less time than the route allows, never for more
+		final Deadline deadline = Deadline.after(this.budget(route))
+				.min(Deadline.parse(exchange.getRequest().getHeaders().getFirst(Deadline.HEADER)).orElse(null));
+		
+		final ServerWebExchange stamped = exchange.mutate()
+				.request(r -> r.headers(h -> h.set(Deadline.HEADER, deadline.toString())))
+				.build();
+		
+		return chain.filter(stamped)
+				.timeout(Mono.delay(deadline.remaining())
+						.doOnNext(tick -> exchange.getAttributes().put(DEADLINE_EXCEEDED_ATTR, Boolean.TRUE)))
+				.onErrorMap(TimeoutException.class, e -> {
+					this.meterRegistry.counter("deadline.exceeded", "stage", "gateway").increment();
+					return new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Deadline exceeded", e);
+				});
+	}
+	
+	private Duration budget(final Route route) {
+		final Object metadata = route == null ? null : route.getMetadata().get(DEADLINE_METADATA);
+		if (metadata instanceof Number)
+			return Duration.ofMillis(((Number) metadata).longValue());
+		if (metadata != null)
+			return DurationStyle.detectAndParse(metadata.toString());
+		return this.deadlineProperties.getBudget();
+	}
+	
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE + 10;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,96 @@
+package com.selimhorri.app.config.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit driven by the ratio of long-term to short-term RTT (after Netflix's Gradient2).
+ * When recent latency climbs above the baseline the limit shrinks towards what the route is actually
+ * serving, when latency is at baseline it grows by a small queue allowance. Errors back off multiplicatively.
+ */
+class GradientLimit {
+	
+	private static final double LONG_WINDOW_ALPHA = 2.0 / (600 + 1);
+	private static final double SHORT_WINDOW_ALPHA = 2.0 / (10 + 1);
+	private static final double BACKOFF_RATIO = 0.9;
+	
+	private final AtomicInteger inflight = new AtomicInteger();
+	private final int minLimit;
+	private final int maxLimit;
+	private final double rttTolerance;
+	private final double smoothing;
+	
+	private volatile double limit;
+	private double longRtt;
+	private double shortRtt;
+	
+	GradientLimit(final AdaptiveConcurrencyGatewayFilterFactory.Config config) {
+		this.minLimit = config.getMinLimit();
+		this.maxLimit = config.getMaxLimit();
+		this.rttTolerance = config.getRttTolerance();
+		this.smoothing = config.getSmoothing();
+		this.limit = config.getInitialLimit();
+	}
+	
+	boolean tryAcquire() {
+		while (true) {
+			final int current = this.inflight.get();
+			if (current >= (int) this.limit)
+				return false;
+			if (this.inflight.compareAndSet(current, current + 1))
+				return true;
+		}
+	}
+	
+	void release(final long rttNanos, final boolean dropped) {
+		final int inflight = this.inflight.getAndDecrement();
+		synchronized (this) {
+			if (dropped) {
+				this.limit = Math.max(this.minLimit, this.limit * BACKOFF_RATIO);
+				return;
+			}
+			
+			this.shortRtt = this.shortRtt == 0 ? rttNanos : this.shortRtt + (rttNanos - this.shortRtt) * SHORT_WINDOW_ALPHA;
+			this.longRtt = this.longRtt == 0 ? rttNanos : this.longRtt + (rttNanos - this.longRtt) * LONG_WINDOW_ALPHA;
+			
+			// latency went back to normal after a long overload, let the baseline catch up
+			if (this.longRtt / this.shortRtt > 2)
+				this.longRtt *= 0.95;
+			
+			// nothing to learn while the route is not using what it already has
+			if (inflight < this.limit / 2)
+				return;
+			
+			final double gradient = Math.max(0.5, Math.min(1.0, this.rttTolerance * this.longRtt / this.shortRtt));
+			final double queueSize = Math.sqrt(this.limit);
+			final double estimate = this.limit * gradient + queueSize;
+			this.limit = Math.max(this.minLimit, Math.min(this.maxLimit,
+					this.limit * (1 - this.smoothing) + estimate * this.smoothing));
+		}
+	}
+	
+	/**
+	 * Frees the slot without learning from the request.
+	 */
+	void ignore() {
+		this.inflight.decrementAndGet();
+	}
+	
+	int getLimit() {
+		return (int) this.limit;
+	}
+	
+	int getInflight() {
+		return this.inflight.get();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,203 @@
+package com.selimhorri.app.config.filter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.search.Search;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Component
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+	
+	private static final String X_CACHE = "X-Cache";
+	
+	private final MeterRegistry meterRegistry;
+	
+	public ResponseCacheGatewayFilterFactory(final MeterRegistry meterRegistry) {
+		super(Config.class);
+		this.meterRegistry = meterRegistry;
+	}
+	
+	@Override
+	public GatewayFilter apply(final Config config) {
+		
+		final Cache<String, CachedResponse> cache = Caffeine.newBuilder()
+				.maximumSize(config.getMaximumEntries())
+				.expireAfterWrite(config.getRetainFor().toNanos(), TimeUnit.NANOSECONDS)
+				.recordStats()
+				.build();
+		this.monitor(config.getRouteId(), cache);
+		
+		// must run ahead of NettyWriteResponseFilter so the decorated response is the one it writes to
+		return new OrderedGatewayFilter((exchange, chain) -> {
+			
+			final ServerHttpRequest request = exchange.getRequest();
+			final String routeId = this.routeId(exchange);
+			
+			if (request.getMethod() != HttpMethod.GET)
+				return chain.filter(exchange).then(Mono.fromRunnable(() -> this.purgeOnWrite(exchange, cache)));
+			
+			final var requestCacheControl = String.valueOf(request.getHeaders().getCacheControl());
+			if (request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION) || requestCacheControl.contains("no-store")) {
+				this.record(routeId, "bypass");
+				return chain.filter(exchange);
+			}
+			
+			// snapshot before mutating, the mutated request shares the original header map
+			final List<String> ifNoneMatch = List.copyOf(request.getHeaders().getIfNoneMatch());
+			final String key = this.key(request);
+			final CachedResponse cached = cache.getIfPresent(key);
+			final long now = System.currentTimeMillis();
+			
+			if (cached != null && cached.isFresh(now) && !requestCacheControl.contains("no-cache")) {
+				this.record(routeId, "hit");
+				return this.write(exchange.getResponse(), ifNoneMatch, cached, now, "HIT");
+			}
+			
+			final var forwarded = cached == null || cached.getEtag() == null ? request 
+					: request.mutate().headers(h -> h.setIfNoneMatch(cached.getEtag())).build();
+			final var response = exchange.getResponse();
+			
+			final var decorated = new ServerHttpResponseDecorator(response) {
+				
+				@Override
+				public Mono<Void> writeWith(final Publisher<? extends DataBuffer> body) {
+					
+					if (cached != null && this.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+						final var revalidated = cached.revalidate(this.getHeaders(), config, System.currentTimeMillis());
+						cache.put(key, revalidated);
+						ResponseCacheGatewayFilterFactory.this.record(routeId, "revalidated");
+						return Flux.from(body).doOnNext(DataBufferUtils::release)
+								.then(ResponseCacheGatewayFilterFactory.this.write(this.getDelegate(), ifNoneMatch, 
+										revalidated, System.currentTimeMillis(), "REVALIDATED"));
+					}
+					
+					ResponseCacheGatewayFilterFactory.this.record(routeId, "miss");
+					if (!CachedResponse.isCacheable(this.getStatusCode(), this.getHeaders())) {
+						this.getHeaders().set(X_CACHE, "MISS");
+						return super.writeWith(body);
+					}
+					
+					return DataBufferUtils.join(body).flatMap(joined -> {
+						final byte[] bytes = new byte[joined.readableByteCount()];
+						joined.read(bytes);
+						DataBufferUtils.release(joined);
+						CachedResponse.of(this.getStatusCode(), this.getHeaders(), bytes, config, System.currentTimeMillis())
+								.ifPresent(c -> cache.put(key, c));
+						this.getHeaders().set(X_CACHE, "MISS");
+						return super.writeWith(Mono.just(this.bufferFactory().wrap(bytes)));
+					});
+				}
+				
+			};
+			
+			return chain.filter(exchange.mutate().request(forwarded).response(decorated).build());
+		}, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+	}
+	
+	private Mono<Void> write(final ServerHttpResponse response, final List<String> ifNoneMatch, 
+			final CachedResponse cached, final long now, final String result) {
+		
+		final var headers = response.getHeaders();
+		headers.putAll(cached.getHeaders());
+		headers.set(HttpHeaders.AGE, String.valueOf(Math.max(0L, (now - cached.getStoredAt()) / 1000)));
+		headers.set(X_CACHE, result);
+		
+		if (cached.getEtag() != null && (ifNoneMatch.contains(cached.getEtag()) || ifNoneMatch.contains("*"))) {
+			response.setStatusCode(HttpStatus.NOT_MODIFIED);
+			headers.remove(HttpHeaders.CONTENT_LENGTH);
+			return response.setComplete();
+		}
+		
+		response.setStatusCode(cached.getStatus());
+		headers.setContentLength(cached.getBody().length);
+		headers.remove(HttpHeaders.TRANSFER_ENCODING);
+		return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+	}
+	
+	private void purgeOnWrite(final ServerWebExchange exchange, final Cache<String, CachedResponse> cache) {
+		final var status = exchange.getResponse().getStatusCode();
+		if (status != null && status.is2xxSuccessful())
+			cache.invalidateAll();
+	}
+	
+	private String key(final ServerHttpRequest request) {
+		final var headers = request.getHeaders();
+		return request.getURI().getRawPath() 
+				+ '?' + String.valueOf(request.getURI().getRawQuery()) 
+				+ '|' + String.valueOf(headers.getFirst(HttpHeaders.ACCEPT)) 
+				+ '|' + String.valueOf(headers.getFirst(HttpHeaders.ACCEPT_ENCODING));
+	}
+	
+	private String routeId(final ServerWebExchange exchange) {
+		final Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		return route == null ? "unknown" : route.getId();
+	}
+	
+	/**
+	 * Once per route when its filter is built. A route refresh builds a new cache, the gauges of the one it
+	 * replaces are dropped first since they would otherwise keep reporting it.
+	 */
+	private void monitor(final String routeId, final Cache<String, CachedResponse> cache) {
+		final String name = "gateway." + (routeId == null ? "unknown" : routeId);
+		Search.in(this.meterRegistry).tag("cache", name).meters()
+				.forEach(this.meterRegistry::remove);
+		CaffeineCacheMetrics.monitor(this.meterRegistry, cache, name);
+	}
+	
+	private void record(final String routeId, final String result) {
+		this.meterRegistry.counter("gateway.response.cache", "route", routeId, "result", result).increment();
+	}
+	
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Config implements HasRouteId {
+		private String routeId;
+		private Duration timeToLive = Duration.ofSeconds(30);
+		private Duration retainFor = Duration.ofMinutes(5);
+		private long maximumEntries = 1000;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
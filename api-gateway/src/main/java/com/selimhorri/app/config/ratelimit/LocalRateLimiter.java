@@ -0,0 +1,137 @@
+package com.selimhorri.app.config.ratelimit;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.validation.constraints.Min;
+
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.validation.annotation.Validated;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Token bucket kept in gateway memory, one bucket per route and key.
+ * Each bucket is a single theoretical-arrival-time stamp updated by CAS (GCRA),
+ * which admits exactly what a bucket of burstCapacity refilled at replenishRate/s would.
+ */
+public class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> {
+	
+	public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+	public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+	public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+	public static final String RESET_HEADER = "X-RateLimit-Reset";
+	
+	private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1L);
+	
+	private final Config defaultConfig;
+	private final Cache<String, AtomicLong> buckets;
+	private final MeterRegistry meterRegistry;
+	
+	public LocalRateLimiter(final RateLimitProperties properties,
+			final ConfigurationService configurationService,
+			final MeterRegistry meterRegistry) {
+		super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+		this.defaultConfig = new Config(properties.getReplenishRate(),
+				properties.getBurstCapacity(), properties.getRequestedTokens());
+		this.buckets = Caffeine.newBuilder()
+				.maximumSize(properties.getMaximumKeys())
+				.expireAfterAccess(properties.getIdleTimeout().toNanos(), TimeUnit.NANOSECONDS)
+				.build();
+		this.meterRegistry = meterRegistry;
+		meterRegistry.gauge("gateway.ratelimit.keys", this.buckets, Cache::estimatedSize);
+	}
+	
+	@Override
+	public Mono<Response> isAllowed(final String routeId, final String id) {
+		
+		final Config config = this.getConfig().getOrDefault(routeId, this.defaultConfig);
+		final long interval = NANOS_PER_SECOND / config.getReplenishRate();
+		final long tolerance = interval * config.getBurstCapacity();
+		final long cost = interval * config.getRequestedTokens();
+		final AtomicLong bucket = this.buckets.get(routeId + ":" + id, k -> new AtomicLong(System.nanoTime()));
+		
+		while (true) {
+			final long now = System.nanoTime();
+			final long current = bucket.get();
+			final long tat = current - now < 0 ? now : current;
+			final long next = tat + cost;
+			final long backlog = next - now;
+			
+			if (backlog > tolerance) {
+				this.record(routeId, "denied");
+				final long retryAfter = backlog - tolerance;
+				final Map<String, String> headers = this.headers(config, 0L, tat - now);
+				headers.put(HttpHeaders.RETRY_AFTER, String.valueOf(this.seconds(retryAfter)));
+				return Mono.just(new Response(false, headers));
+			}
+			
+			if (bucket.compareAndSet(current, next)) {
+				this.record(routeId, "allowed");
+				return Mono.just(new Response(true, this.headers(config, (tolerance - backlog) / interval, backlog)));
+			}
+		}
+	}
+	
+	private Map<String, String> headers(final Config config, final long remaining, final long untilFull) {
+		final Map<String, String> headers = new HashMap<>(4);
+		headers.put(LIMIT_HEADER, String.valueOf(config.getBurstCapacity()));
+		headers.put(REMAINING_HEADER, String.valueOf(remaining));
+		headers.put(RESET_HEADER, String.valueOf(this.seconds(untilFull)));
+		return headers;
+	}
+	
+	private long seconds(final long nanos) {
+		return Math.max(0L, (nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+	}
+	
+	private void record(final String routeId, final String result) {
+		Counter.builder("gateway.ratelimit.requests")
+				.tag("route", routeId)
+				.tag("result", result)
+				.register(this.meterRegistry)
+				.increment();
+	}
+	
+	@Data
+	@Validated
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Config {
+		
+		@Min(1)
+		private int replenishRate = 20;
+		
+		@Min(1)
+		private int burstCapacity = 40;
+		
+		@Min(1)
+		private int requestedTokens = 1;
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,99 @@
+package com.selimhorri.app.config.ratelimit;
+
+import java.net.InetSocketAddress;
+import java.util.Optional;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+	
+	private static final String BEARER = "Bearer ";
+	
+	@Bean
+	public LocalRateLimiter localRateLimiter(final RateLimitProperties properties,
+			final ConfigurationService configurationService,
+			final MeterRegistry meterRegistry) {
+		return new LocalRateLimiter(properties, configurationService, meterRegistry);
+	}
+	
+	@Bean
+	@Primary
+	public KeyResolver clientIpKeyResolver(final RateLimitProperties properties) {
+		final RemoteAddressResolver resolver = properties.getTrustedProxies() > 0 ?
+				XForwardedRemoteAddressResolver.maxTrustedIndex(properties.getTrustedProxies())
+				: new RemoteAddressResolver() {};
+		return exchange -> Mono.justOrEmpty(clientIp(resolver, exchange)).map(ip -> "ip:" + ip);
+	}
+	
+	/**
+	 * Keys authenticated callers by the verified JWT subject, anonymous or invalid tokens fall back to client IP
+	 */
+	@Bean
+	public KeyResolver jwtSubjectKeyResolver(final RateLimitProperties properties) {
+		final KeyResolver fallback = this.clientIpKeyResolver(properties);
+		return exchange -> Mono.justOrEmpty(subject(properties.getJwtSecret(), exchange))
+				.map(subject -> "sub:" + subject)
+				.switchIfEmpty(Mono.defer(() -> fallback.resolve(exchange)));
+	}
+	
+	@Bean
+	public KeyResolver routeKeyResolver() {
+		return exchange -> Mono.justOrEmpty(Optional
+				.ofNullable(exchange.<Route>getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR))
+				.map(route -> "route:" + route.getId()));
+	}
+	
+	private static String clientIp(final RemoteAddressResolver resolver, final ServerWebExchange exchange) {
+		final InetSocketAddress address = resolver.resolve(exchange);
+		if (address == null)
+			return null;
+		return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+	}
+	
+	private static String subject(final String secret, final ServerWebExchange exchange) {
+		final String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+		if (authorization == null || !authorization.startsWith(BEARER))
+			return null;
+		try {
+			return Jwts.parser()
+					.setSigningKey(secret)
+					.parseClaimsJws(authorization.substring(BEARER.length()))
+					.getBody()
+					.getSubject();
+		}
+		catch (JwtException | IllegalArgumentException e) {
+			return null;
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,31 @@
+package com.selimhorri.app.config.ratelimit;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+	
+	private int replenishRate = 20;
+	private int burstCapacity = 40;
+	private int requestedTokens = 1;
+	private long maximumKeys = 100_000L;
+	private Duration idleTimeout = Duration.ofMinutes(10);
+	private int trustedProxies = 0;
+	private String jwtSecret = "secret";
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,95 @@
+package com.selimhorri.app.config.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.selimhorri.commons.deadline.DeadlineProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+class AdaptiveConcurrencyGatewayFilterFactoryTests {
+	
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final AdaptiveConcurrencyGatewayFilterFactory factory = new AdaptiveConcurrencyGatewayFilterFactory(this.meterRegistry);
+	
+	@Test
+	void cancelledRequestsFreeTheirSlotWithoutBackingOff() {
+		final GatewayFilter filter = this.filter();
+		
+		for (int i = 0; i < 50; i++) {
+			final Disposable request = filter.filter(exchange(), e -> Mono.never()).subscribe();
+			request.dispose();
+		}
+		
+		assertThat(this.gauge("gateway.concurrency.inflight")).isZero();
+		assertThat(this.gauge("gateway.concurrency.limit")).isEqualTo(20);
+	}
+	
+	@Test
+	void serverErrorsBackOff() {
+		final GatewayFilter filter = this.filter();
+		final GatewayFilterChain failing = e -> {
+			e.getResponse().setStatusCode(HttpStatus.BAD_GATEWAY);
+			return Mono.empty();
+		};
+		
+		filter.filter(exchange(), failing).block();
+		
+		assertThat(this.gauge("gateway.concurrency.inflight")).isZero();
+		assertThat(this.gauge("gateway.concurrency.limit")).isLessThan(20);
+	}
+	
+	@Test
+	void deadlineTimeoutsBackOff() {
+		final GatewayFilter filter = this.filter();
+		final DeadlineProperties deadlineProperties = new DeadlineProperties();
+		deadlineProperties.setBudget(Duration.ofMillis(20));
+		final DeadlineGlobalFilter deadlineFilter = new DeadlineGlobalFilter(deadlineProperties, this.meterRegistry);
+		
+		for (int i = 0; i < 5; i++)
+			assertThatThrownBy(() -> deadlineFilter.filter(exchange(), e -> filter.filter(e, backend -> Mono.never())).block())
+					.isInstanceOf(ResponseStatusException.class)
+					.hasMessageContaining("504");
+		
+		assertThat(this.gauge("gateway.concurrency.inflight")).isZero();
+		assertThat(this.gauge("gateway.concurrency.limit")).isLessThan(20);
+	}
+	
+	private GatewayFilter filter() {
+		final AdaptiveConcurrencyGatewayFilterFactory.Config config = new AdaptiveConcurrencyGatewayFilterFactory.Config();
+		config.setRouteId("PRODUCT-SERVICE");
+		return this.factory.apply(config);
+	}
+	
+	private double gauge(final String name) {
+		return this.meterRegistry.get(name).tag("route", "PRODUCT-SERVICE").gauge().value();
+	}
+	
+	private static MockServerWebExchange exchange() {
+		return MockServerWebExchange.from(MockServerHttpRequest.get("/product-service/api/products"));
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,73 @@
+package com.selimhorri.app.config.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.RequestRateLimiterGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+
+/**
+ * Route filters run in the order FilteringWebHandler sorts them, default and route filters mixed by their
+ * position unless they carry an explicit order.
+ */
+@SpringBootTest(properties = {
+		"SPRING_CONFIG_IMPORT=",
+		"eureka.client.enabled=false",
+		"spring.zipkin.enabled=false"
+})
+class RouteFilterOrderTests {
+	
+	@Autowired
+	private RouteLocator routeLocator;
+	
+	@Test
+	void productRouteLimitsConcurrencyAfterCacheAndRateLimiter() {
+		final List<GatewayFilter> filters = this.sortedFilters("PRODUCT-SERVICE");
+		final int cache = position(filters, ResponseCacheGatewayFilterFactory.class);
+		final int rateLimiter = position(filters, RequestRateLimiterGatewayFilterFactory.class);
+		final int concurrency = position(filters, AdaptiveConcurrencyGatewayFilterFactory.class);
+		assertThat(cache).isLessThan(rateLimiter);
+		assertThat(rateLimiter).isLessThan(concurrency);
+	}
+	
+	private List<GatewayFilter> sortedFilters(final String routeId) {
+		final Route route = this.routeLocator.getRoutes()
+				.filter(r -> r.getId().equals(routeId))
+				.blockFirst();
+		assertThat(route).as("route %s", routeId).isNotNull();
+		final List<GatewayFilter> filters = new ArrayList<>(route.getFilters());
+		AnnotationAwareOrderComparator.sort(filters);
+		return filters;
+	}
+	
+	private static int position(final List<GatewayFilter> filters, final Class<?> factory) {
+		for (int i = 0; i < filters.size(); i++) {
+			GatewayFilter filter = filters.get(i);
+			while (filter instanceof OrderedGatewayFilter)
+				filter = ((OrderedGatewayFilter) filter).getDelegate();
+			if (filter.getClass().getName().startsWith(factory.getName()))
+				return i;
+		}
+		throw new AssertionError("No filter from " + factory.getSimpleName() + " in " + filters);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,107 @@
+package com.selimhorri.app.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.selimhorri.app.domain.Favourite;
+import com.selimhorri.app.dto.FavouriteDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.helper.FavouriteMappingHelper;
+import com.selimhorri.benchmark.JsonPayload;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Seeded favourites shaped like the ones findAll serves, the same count always gives the same data.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FavouriteFixtures {
+	
+	private static final long SEED = 42L;
+	private static final LocalDateTime START = LocalDateTime.of(2021, 1, 1, 9, 0);
+	private static final String[] FIRST_NAMES = {"Selim", "Amine", "Omar", "Sara", "Lina", "Yassine", "Ines", "Karim"};
+	private static final String[] LAST_NAMES = {"Horri", "Trabelsi", "Jaziri", "Gharbi", "Mansour", "Haddad"};
+	private static final String[] ITEMS = {"laptop", "headphones", "phone case", "keyboard", "monitor", "charger", "backpack"};
+	
+	public static List<Favourite> favourites(final int count) {
+		final var random = new Random(SEED);
+		return IntStream.rangeClosed(1, count)
+				.mapToObj(i -> Favourite.builder()
+						.userId(random.nextInt(count) + 1)
+						.productId(random.nextInt(count) + 1)
+						.likeDate(START.plusMinutes(random.nextInt(500_000)).plusNanos(random.nextInt(1_000_000) * 1000L))
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	/**
+	 * Favourites as the resource returns them, enriched with their user and product.
+	 */
+	public static List<FavouriteDto> favouriteDtos(final int count) {
+		final var random = new Random(SEED);
+		return favourites(count).stream()
+				.map(FavouriteMappingHelper::map)
+				.peek(f -> {
+					f.setUserDto(user(f.getUserId(), random));
+					f.setProductDto(product(f.getProductId(), random));
+				})
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	private static UserDto user(final int userId, final Random random) {
+		final var firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+		final var lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+		return UserDto.builder()
+				.userId(userId)
+				.firstName(firstName)
+				.lastName(lastName)
+				.imageUrl("https://cdn.example.com/users/" + userId + ".jpg")
+				.email(firstName.toLowerCase() + "." + lastName.toLowerCase() + userId + "@example.com")
+				.phone(String.format("+216 %08d", random.nextInt(100_000_000)))
+				.build();
+	}
+	
+	private static ProductDto product(final int productId, final Random random) {
+		final var item = ITEMS[random.nextInt(ITEMS.length)];
+		return ProductDto.builder()
+				.productId(productId)
+				.productTitle(item.substring(0, 1).toUpperCase() + item.substring(1) + " " + productId)
+				.imageUrl("https://cdn.example.com/products/" + productId + ".jpg")
+				.sku(String.format("SKU-%08d", productId))
+				.priceUnit(Math.round(random.nextDouble() * 200_000) / 100.0)
+				.quantity(random.nextInt(500))
+				.build();
+	}
+	
+	@Getter
+	@RequiredArgsConstructor
+	public enum Payload implements JsonPayload {
+		
+		FAVOURITE(FavouriteDto.class, FavouriteFixtures::favouriteDtos);
+		
+		private final Class<?> type;
+		private final IntFunction<List<?>> dtos;
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,52 @@
+package com.selimhorri.benchmark;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Param;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+/**
+ * JSON round trip of a whole findAll page. Each service has its own DtoCollectionResponse, so subclasses pass
+ * theirs with its constructor.
+ */
+public abstract class CollectionJsonBenchmark extends JsonBenchmark {
+	
+	@Param({"10", "100", "1000"})
+	private int size;
+	
+	private final Class<?> collectionType;
+	private final Function<List<?>, ?> collection;
+	
+	protected CollectionJsonBenchmark(final Supplier<ObjectMapper> objectMapper, final Class<?> collectionType,
+			final Function<List<?>, ?> collection) {
+		super(objectMapper);
+		this.collectionType = collectionType;
+		this.collection = collection;
+	}
+	
+	@Override
+	protected JavaType type(final TypeFactory typeFactory) {
+		return typeFactory.constructParametricType(this.collectionType, this.payload().getType());
+	}
+	
+	@Override
+	protected Object value() {
+		return this.collection.apply(this.payload().getDtos().apply(this.size));
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
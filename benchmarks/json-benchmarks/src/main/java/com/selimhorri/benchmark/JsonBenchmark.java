@@ -0,0 +1,87 @@
+package com.selimhorri.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+/**
+ * JSON round trip of a single DTO, as served by the findById endpoints. Subclasses declare the @Param of their
+ * module's Payload enum, JMH only fills an enum param through its concrete type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public abstract class JsonBenchmark {
+	
+	private final Supplier<ObjectMapper> objectMapper;
+	
+	private ObjectWriter writer;
+	private ObjectReader reader;
+	private Object value;
+	private byte[] json;
+	
+	protected JsonBenchmark(final Supplier<ObjectMapper> objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+	
+	protected abstract JsonPayload payload();
+	
+	protected JavaType type(final TypeFactory typeFactory) {
+		return typeFactory.constructType(this.payload().getType());
+	}
+	
+	protected Object value() {
+		return this.payload().getDtos().apply(1).get(0);
+	}
+	
+	@Setup
+	public void setUp() throws IOException {
+		final ObjectMapper objectMapper = this.objectMapper.get();
+		final JavaType type = this.type(objectMapper.getTypeFactory());
+		this.writer = objectMapper.writerFor(type);
+		this.reader = objectMapper.readerFor(type);
+		this.value = this.value();
+		this.json = this.writer.writeValueAsBytes(this.value);
+	}
+	
+	@Benchmark
+	public byte[] serialize() throws IOException {
+		return this.writer.writeValueAsBytes(this.value);
+	}
+	
+	@Benchmark
+	public Object deserialize() throws IOException {
+		return this.reader.readValue(this.json);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
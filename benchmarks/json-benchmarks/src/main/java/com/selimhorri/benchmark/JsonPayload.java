@@ -0,0 +1,25 @@
+package com.selimhorri.benchmark;
+
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * A DTO type of a service and seeded instances of it, implemented by each benchmark module's Payload enum.
+ */
+public interface JsonPayload {
+	
+	Class<?> getType();
+	
+	IntFunction<List<?>> getDtos();
+	
+}
+
+
+
+
+
+
+
+
+
+
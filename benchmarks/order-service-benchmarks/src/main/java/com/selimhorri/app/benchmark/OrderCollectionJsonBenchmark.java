@@ -0,0 +1,35 @@
+package com.selimhorri.app.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+
+import com.selimhorri.app.benchmark.OrderFixtures.Payload;
+import com.selimhorri.app.config.mapper.MapperConfig;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.benchmark.CollectionJsonBenchmark;
+import com.selimhorri.benchmark.JsonPayload;
+
+public class OrderCollectionJsonBenchmark extends CollectionJsonBenchmark {
+	
+	@Param
+	private Payload payload;
+	
+	public OrderCollectionJsonBenchmark() {
+		super(() -> new MapperConfig().objectMapperBean(), DtoCollectionResponse.class, DtoCollectionResponse::new);
+	}
+	
+	@Override
+	protected JsonPayload payload() {
+		return this.payload;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
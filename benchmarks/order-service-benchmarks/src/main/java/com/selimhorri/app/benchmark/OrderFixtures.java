@@ -0,0 +1,114 @@
+package com.selimhorri.app.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.selimhorri.app.domain.Cart;
+import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.helper.CartMappingHelper;
+import com.selimhorri.app.helper.OrderMappingHelper;
+import com.selimhorri.benchmark.JsonPayload;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Seeded orders and carts shaped like the ones findAll serves, the same count always gives the same data.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class OrderFixtures {
+	
+	private static final long SEED = 42L;
+	private static final LocalDateTime START = LocalDateTime.of(2021, 1, 1, 9, 0);
+	private static final String[] FIRST_NAMES = {"Selim", "Amine", "Omar", "Sara", "Lina", "Yassine", "Ines", "Karim"};
+	private static final String[] LAST_NAMES = {"Horri", "Trabelsi", "Jaziri", "Gharbi", "Mansour", "Haddad"};
+	private static final String[] ITEMS = {"laptop", "headphones", "phone case", "keyboard", "monitor", "charger", "backpack"};
+	
+	public static List<Cart> carts(final int count) {
+		final var random = new Random(SEED);
+		return IntStream.rangeClosed(1, count)
+				.mapToObj(i -> Cart.builder()
+						.cartId(i)
+						.userId(random.nextInt(count) + 1)
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	public static List<Order> orders(final int count) {
+		final var random = new Random(SEED);
+		final var carts = carts(count);
+		return IntStream.rangeClosed(1, count)
+				.mapToObj(i -> Order.builder()
+						.orderId(i)
+						.orderDate(START.plusMinutes(random.nextInt(500_000)).plusNanos(random.nextInt(1_000_000) * 1000L))
+						.orderDesc("Order of " + (random.nextInt(4) + 1) + " x " + ITEMS[random.nextInt(ITEMS.length)])
+						.orderFee(Math.round(random.nextDouble() * 200_000) / 100.0)
+						.cart(carts.get(random.nextInt(count)))
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	public static List<OrderDto> orderDtos(final int count) {
+		return orders(count).stream()
+				.map(OrderMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	/**
+	 * Carts as the resource returns them, enriched with their user.
+	 */
+	public static List<CartDto> cartDtos(final int count) {
+		final var random = new Random(SEED);
+		return carts(count).stream()
+				.map(CartMappingHelper::map)
+				.peek(c -> c.setUserDto(user(c.getUserId(), random)))
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	private static UserDto user(final int userId, final Random random) {
+		final var firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+		final var lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+		return UserDto.builder()
+				.userId(userId)
+				.firstName(firstName)
+				.lastName(lastName)
+				.imageUrl("https://cdn.example.com/users/" + userId + ".jpg")
+				.email(firstName.toLowerCase() + "." + lastName.toLowerCase() + userId + "@example.com")
+				.phone(String.format("+216 %08d", random.nextInt(100_000_000)))
+				.build();
+	}
+	
+	@Getter
+	@RequiredArgsConstructor
+	public enum Payload implements JsonPayload {
+		
+		ORDER(OrderDto.class, OrderFixtures::orderDtos),
+		CART(CartDto.class, OrderFixtures::cartDtos);
+		
+		private final Class<?> type;
+		private final IntFunction<List<?>> dtos;
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,34 @@
+package com.selimhorri.app.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+
+import com.selimhorri.app.benchmark.OrderFixtures.Payload;
+import com.selimhorri.app.config.mapper.MapperConfig;
+import com.selimhorri.benchmark.JsonBenchmark;
+import com.selimhorri.benchmark.JsonPayload;
+
+public class OrderJsonBenchmark extends JsonBenchmark {
+	
+	@Param
+	private Payload payload;
+	
+	public OrderJsonBenchmark() {
+		super(() -> new MapperConfig().objectMapperBean());
+	}
+	
+	@Override
+	protected JsonPayload payload() {
+		return this.payload;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,95 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.domain.Cart;
+import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.helper.CartMappingHelper;
+import com.selimhorri.app.helper.OrderMappingHelper;
+
+/**
+ * Entity to DTO mapping of a whole findAll page (map then distinct, like the services), and back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderMappingBenchmark {
+	
+	@Param({"10", "100", "1000"})
+	private int size;
+	
+	private List<Order> orders;
+	private List<OrderDto> orderDtos;
+	private List<Cart> carts;
+	private List<CartDto> cartDtos;
+	
+	@Setup
+	public void setUp() {
+		this.orders = OrderFixtures.orders(this.size);
+		this.orderDtos = OrderFixtures.orderDtos(this.size);
+		this.carts = OrderFixtures.carts(this.size);
+		this.cartDtos = OrderFixtures.cartDtos(this.size);
+	}
+	
+	@Benchmark
+	public List<OrderDto> toOrderDto() {
+		return this.orders.stream()
+				.map(OrderMappingHelper::map)
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Benchmark
+	public List<Order> toOrder() {
+		return this.orderDtos.stream()
+				.map(OrderMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Benchmark
+	public List<CartDto> toCartDto() {
+		return this.carts.stream()
+				.map(CartMappingHelper::map)
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Benchmark
+	public List<Cart> toCart() {
+		return this.cartDtos.stream()
+				.map(CartMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,87 @@
+package com.selimhorri.app.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.helper.PaymentMappingHelper;
+import com.selimhorri.benchmark.JsonPayload;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Seeded payments shaped like the ones findAll serves, the same count always gives the same data.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PaymentFixtures {
+	
+	private static final long SEED = 42L;
+	private static final LocalDateTime START = LocalDateTime.of(2021, 1, 1, 9, 0);
+	private static final String[] ITEMS = {"laptop", "headphones", "phone case", "keyboard", "monitor", "charger", "backpack"};
+	
+	public static List<Payment> payments(final int count) {
+		final var random = new Random(SEED);
+		return IntStream.rangeClosed(1, count)
+				.mapToObj(i -> Payment.builder()
+						.paymentId(i)
+						.orderId(random.nextInt(count) + 1)
+						.isPayed(random.nextBoolean())
+						.paymentStatus(PaymentStatus.values()[random.nextInt(PaymentStatus.values().length)])
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	/**
+	 * Payments as the resource returns them, enriched with their order.
+	 */
+	public static List<PaymentDto> paymentDtos(final int count) {
+		final var random = new Random(SEED);
+		return payments(count).stream()
+				.map(PaymentMappingHelper::map)
+				.peek(p -> p.setOrderDto(order(p.getOrderDto().getOrderId(), random)))
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	private static OrderDto order(final int orderId, final Random random) {
+		return OrderDto.builder()
+				.orderId(orderId)
+				.orderDate(START.plusMinutes(random.nextInt(500_000)).plusNanos(random.nextInt(1_000_000) * 1000L))
+				.orderDesc("Order of " + (random.nextInt(4) + 1) + " x " + ITEMS[random.nextInt(ITEMS.length)])
+				.orderFee(Math.round(random.nextDouble() * 200_000) / 100.0)
+				.build();
+	}
+	
+	@Getter
+	@RequiredArgsConstructor
+	public enum Payload implements JsonPayload {
+		
+		PAYMENT(PaymentDto.class, PaymentFixtures::paymentDtos);
+		
+		private final Class<?> type;
+		private final IntFunction<List<?>> dtos;
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
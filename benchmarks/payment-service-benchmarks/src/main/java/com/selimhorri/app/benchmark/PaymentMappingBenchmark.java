@@ -0,0 +1,73 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.helper.PaymentMappingHelper;
+
+/**
+ * Entity to DTO mapping of a whole findAll page (map then distinct, like the services), and back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaymentMappingBenchmark {
+	
+	@Param({"10", "100", "1000"})
+	private int size;
+	
+	private List<Payment> payments;
+	private List<PaymentDto> paymentDtos;
+	
+	@Setup
+	public void setUp() {
+		this.payments = PaymentFixtures.payments(this.size);
+		this.paymentDtos = PaymentFixtures.paymentDtos(this.size);
+	}
+	
+	@Benchmark
+	public List<PaymentDto> toPaymentDto() {
+		return this.payments.stream()
+				.map(PaymentMappingHelper::map)
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Benchmark
+	public List<Payment> toPayment() {
+		return this.paymentDtos.stream()
+				.map(PaymentMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
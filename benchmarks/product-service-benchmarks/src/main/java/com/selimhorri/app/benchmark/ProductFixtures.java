@@ -0,0 +1,107 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.helper.CategoryMappingHelper;
+import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.benchmark.JsonPayload;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Seeded products and categories shaped like the ones findAll serves, the same count always gives the same data.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ProductFixtures {
+	
+	private static final long SEED = 42L;
+	private static final String[] ITEMS = {"laptop", "headphones", "phone case", "keyboard", "monitor", "charger", "backpack"};
+	private static final String[] CATEGORIES = {"Computers", "Audio", "Accessories", "Phones", "Gaming", "Office"};
+	
+	/**
+	 * Categories nested one or two levels under a handful of roots.
+	 */
+	public static List<Category> categories(final int count) {
+		final var random = new Random(SEED);
+		final List<Category> categories = new ArrayList<>(count);
+		for (int i = 1; i <= count; i++) {
+			final var title = CATEGORIES[random.nextInt(CATEGORIES.length)] + " " + i;
+			categories.add(Category.builder()
+					.categoryId(i)
+					.categoryTitle(title)
+					.imageUrl("https://cdn.example.com/categories/" + i + ".jpg")
+					.parentCategory(i <= CATEGORIES.length ? null : categories.get(random.nextInt(i - 1)))
+					.build());
+		}
+		return Collections.unmodifiableList(categories);
+	}
+	
+	public static List<Product> products(final int count) {
+		final var random = new Random(SEED);
+		final var categories = categories(count / 10 + 1);
+		return IntStream.rangeClosed(1, count)
+				.mapToObj(i -> {
+					final var item = ITEMS[random.nextInt(ITEMS.length)];
+					return Product.builder()
+							.productId(i)
+							.productTitle(item.substring(0, 1).toUpperCase() + item.substring(1) + " " + i)
+							.imageUrl("https://cdn.example.com/products/" + i + ".jpg")
+							.sku(String.format("SKU-%08d", i))
+							.priceUnit(Math.round(random.nextDouble() * 200_000) / 100.0)
+							.quantity(random.nextInt(500))
+							.category(categories.get(random.nextInt(categories.size())))
+							.build();
+				})
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	public static List<ProductDto> productDtos(final int count) {
+		return products(count).stream()
+				.map(ProductMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	public static List<CategoryDto> categoryDtos(final int count) {
+		return categories(count).stream()
+				.map(CategoryMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Getter
+	@RequiredArgsConstructor
+	public enum Payload implements JsonPayload {
+		
+		PRODUCT(ProductDto.class, ProductFixtures::productDtos),
+		CATEGORY(CategoryDto.class, ProductFixtures::categoryDtos);
+		
+		private final Class<?> type;
+		private final IntFunction<List<?>> dtos;
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,95 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.helper.CategoryMappingHelper;
+import com.selimhorri.app.helper.ProductMappingHelper;
+
+/**
+ * Entity to DTO mapping of a whole findAll page (map then distinct, like the services), and back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductMappingBenchmark {
+	
+	@Param({"10", "100", "1000"})
+	private int size;
+	
+	private List<Product> products;
+	private List<ProductDto> productDtos;
+	private List<Category> categories;
+	private List<CategoryDto> categoryDtos;
+	
+	@Setup
+	public void setUp() {
+		this.products = ProductFixtures.products(this.size);
+		this.productDtos = ProductFixtures.productDtos(this.size);
+		this.categories = ProductFixtures.categories(this.size);
+		this.categoryDtos = ProductFixtures.categoryDtos(this.size);
+	}
+	
+	@Benchmark
+	public List<ProductDto> toProductDto() {
+		return this.products.stream()
+				.map(ProductMappingHelper::map)
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Benchmark
+	public List<Product> toProduct() {
+		return this.productDtos.stream()
+				.map(ProductMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Benchmark
+	public List<CategoryDto> toCategoryDto() {
+		return this.categories.stream()
+				.map(CategoryMappingHelper::map)
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Benchmark
+	public List<Category> toCategory() {
+		return this.categoryDtos.stream()
+				.map(CategoryMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,101 @@
+package com.selimhorri.app.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.helper.OrderItemMappingHelper;
+import com.selimhorri.benchmark.JsonPayload;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Seeded order items shaped like the ones findAll serves, the same count always gives the same data.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class OrderItemFixtures {
+	
+	private static final long SEED = 42L;
+	private static final LocalDateTime START = LocalDateTime.of(2021, 1, 1, 9, 0);
+	private static final String[] ITEMS = {"laptop", "headphones", "phone case", "keyboard", "monitor", "charger", "backpack"};
+	
+	public static List<OrderItem> orderItems(final int count) {
+		final var random = new Random(SEED);
+		return IntStream.rangeClosed(1, count)
+				.mapToObj(i -> OrderItem.builder()
+						.productId(random.nextInt(count) + 1)
+						.orderId(i)
+						.orderedQuantity(random.nextInt(5) + 1)
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	/**
+	 * Order items as the resource returns them, enriched with their product and order.
+	 */
+	public static List<OrderItemDto> orderItemDtos(final int count) {
+		final var random = new Random(SEED);
+		return orderItems(count).stream()
+				.map(OrderItemMappingHelper::map)
+				.peek(o -> {
+					o.setProductDto(product(o.getProductId(), random));
+					o.setOrderDto(order(o.getOrderId(), random));
+				})
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	private static ProductDto product(final int productId, final Random random) {
+		final var item = ITEMS[random.nextInt(ITEMS.length)];
+		return ProductDto.builder()
+				.productId(productId)
+				.productTitle(item.substring(0, 1).toUpperCase() + item.substring(1) + " " + productId)
+				.imageUrl("https://cdn.example.com/products/" + productId + ".jpg")
+				.sku(String.format("SKU-%08d", productId))
+				.priceUnit(Math.round(random.nextDouble() * 200_000) / 100.0)
+				.quantity(random.nextInt(500))
+				.build();
+	}
+	
+	private static OrderDto order(final int orderId, final Random random) {
+		return OrderDto.builder()
+				.orderId(orderId)
+				.orderDate(START.plusMinutes(random.nextInt(500_000)).plusNanos(random.nextInt(1_000_000) * 1000L))
+				.orderDesc("Order of " + (random.nextInt(4) + 1) + " x " + ITEMS[random.nextInt(ITEMS.length)])
+				.orderFee(Math.round(random.nextDouble() * 200_000) / 100.0)
+				.build();
+	}
+	
+	@Getter
+	@RequiredArgsConstructor
+	public enum Payload implements JsonPayload {
+		
+		ORDER_ITEM(OrderItemDto.class, OrderItemFixtures::orderItemDtos);
+		
+		private final Class<?> type;
+		private final IntFunction<List<?>> dtos;
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,73 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.helper.OrderItemMappingHelper;
+
+/**
+ * Entity to DTO mapping of a whole findAll page (map then distinct, like the services), and back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderItemMappingBenchmark {
+	
+	@Param({"10", "100", "1000"})
+	private int size;
+	
+	private List<OrderItem> orderItems;
+	private List<OrderItemDto> orderItemDtos;
+	
+	@Setup
+	public void setUp() {
+		this.orderItems = OrderItemFixtures.orderItems(this.size);
+		this.orderItemDtos = OrderItemFixtures.orderItemDtos(this.size);
+	}
+	
+	@Benchmark
+	public List<OrderItemDto> toOrderItemDto() {
+		return this.orderItems.stream()
+				.map(OrderItemMappingHelper::map)
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Benchmark
+	public List<OrderItem> toOrderItem() {
+		return this.orderItemDtos.stream()
+				.map(OrderItemMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,171 @@
+package com.selimhorri.app.benchmark;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.selimhorri.app.domain.Address;
+import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.domain.RoleBasedAuthority;
+import com.selimhorri.app.domain.User;
+import com.selimhorri.app.domain.VerificationToken;
+import com.selimhorri.app.dto.AddressDto;
+import com.selimhorri.app.dto.CredentialDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.VerificationTokenDto;
+import com.selimhorri.app.helper.AddressMappingHelper;
+import com.selimhorri.app.helper.CredentialMappingHelper;
+import com.selimhorri.app.helper.UserMappingHelper;
+import com.selimhorri.app.helper.VerificationTokenMappingHelper;
+import com.selimhorri.benchmark.JsonPayload;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Seeded users, credentials, addresses and tokens shaped like the ones findAll serves,
+ * the same count always gives the same data.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class UserFixtures {
+	
+	private static final long SEED = 42L;
+	private static final LocalDate START = LocalDate.of(2021, 1, 1);
+	private static final String[] FIRST_NAMES = {"Selim", "Amine", "Omar", "Sara", "Lina", "Yassine", "Ines", "Karim"};
+	private static final String[] LAST_NAMES = {"Horri", "Trabelsi", "Jaziri", "Gharbi", "Mansour", "Haddad"};
+	private static final String[] CITIES = {"Tunis", "Sfax", "Sousse", "Bizerte", "Nabeul", "Monastir"};
+	private static final String[] STREETS = {"Avenue Habib Bourguiba", "Rue de Marseille", "Rue Ibn Khaldoun", "Avenue de la Liberte"};
+	
+	/**
+	 * Users with their credential, both sides of the one-to-one set.
+	 */
+	public static List<User> users(final int count) {
+		final var random = new Random(SEED);
+		return IntStream.rangeClosed(1, count)
+				.mapToObj(i -> user(i, random))
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	private static User user(final int userId, final Random random) {
+		final var firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+		final var lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+		final var user = User.builder()
+				.userId(userId)
+				.firstName(firstName)
+				.lastName(lastName)
+				.imageUrl("https://cdn.example.com/users/" + userId + ".jpg")
+				.email(firstName.toLowerCase() + "." + lastName.toLowerCase() + userId + "@example.com")
+				.phone(String.format("+216 %08d", random.nextInt(100_000_000)))
+				.build();
+		user.setCredential(Credential.builder()
+				.credentialId(userId)
+				.username(firstName.toLowerCase() + userId)
+				.password(bcryptLike(random))
+				.roleBasedAuthority(random.nextInt(20) == 0 ? RoleBasedAuthority.ROLE_ADMIN : RoleBasedAuthority.ROLE_USER)
+				.isEnabled(true)
+				.isAccountNonExpired(true)
+				.isAccountNonLocked(random.nextInt(50) != 0)
+				.isCredentialsNonExpired(true)
+				.user(user)
+				.build());
+		return user;
+	}
+	
+	public static List<Credential> credentials(final int count) {
+		return users(count).stream()
+				.map(User::getCredential)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	public static List<Address> addresses(final int count) {
+		final var random = new Random(SEED);
+		final var users = users(count);
+		return IntStream.rangeClosed(1, count)
+				.mapToObj(i -> Address.builder()
+						.addressId(i)
+						.fullAddress((random.nextInt(200) + 1) + " " + STREETS[random.nextInt(STREETS.length)])
+						.postalCode(String.valueOf(1000 + random.nextInt(9000)))
+						.city(CITIES[random.nextInt(CITIES.length)])
+						.user(users.get(random.nextInt(count)))
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	public static List<VerificationToken> verificationTokens(final int count) {
+		final var random = new Random(SEED);
+		final var credentials = credentials(count);
+		return IntStream.rangeClosed(1, count)
+				.mapToObj(i -> VerificationToken.builder()
+						.verificationTokenId(i)
+						.token(new UUID(random.nextLong(), random.nextLong()).toString())
+						.expireDate(START.plusDays(random.nextInt(1000)))
+						.credential(credentials.get(random.nextInt(count)))
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	public static List<UserDto> userDtos(final int count) {
+		return users(count).stream()
+				.map(UserMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	public static List<CredentialDto> credentialDtos(final int count) {
+		return credentials(count).stream()
+				.map(CredentialMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	public static List<AddressDto> addressDtos(final int count) {
+		return addresses(count).stream()
+				.map(AddressMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	public static List<VerificationTokenDto> verificationTokenDtos(final int count) {
+		return verificationTokens(count).stream()
+				.map(VerificationTokenMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	private static String bcryptLike(final Random random) {
+		final var alphabet = "./ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+		final var hash = new StringBuilder("$2a$10$");
+		while (hash.length() < 60)
+			hash.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		return hash.toString();
+	}
+	
+	@Getter
+	@RequiredArgsConstructor
+	public enum Payload implements JsonPayload {
+		
+		USER(UserDto.class, UserFixtures::userDtos),
+		CREDENTIAL(CredentialDto.class, UserFixtures::credentialDtos),
+		ADDRESS(AddressDto.class, UserFixtures::addressDtos),
+		VERIFICATION_TOKEN(VerificationTokenDto.class, UserFixtures::verificationTokenDtos);
+		
+		private final Class<?> type;
+		private final IntFunction<List<?>> dtos;
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
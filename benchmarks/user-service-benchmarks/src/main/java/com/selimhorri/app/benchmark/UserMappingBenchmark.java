@@ -0,0 +1,139 @@
+package com.selimhorri.app.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.selimhorri.app.domain.Address;
+import com.selimhorri.app.domain.Credential;
+import com.selimhorri.app.domain.User;
+import com.selimhorri.app.domain.VerificationToken;
+import com.selimhorri.app.dto.AddressDto;
+import com.selimhorri.app.dto.CredentialDto;
+import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.VerificationTokenDto;
+import com.selimhorri.app.helper.AddressMappingHelper;
+import com.selimhorri.app.helper.CredentialMappingHelper;
+import com.selimhorri.app.helper.UserMappingHelper;
+import com.selimhorri.app.helper.VerificationTokenMappingHelper;
+
+/**
+ * Entity to DTO mapping of a whole findAll page (map then distinct, like the services), and back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserMappingBenchmark {
+	
+	@Param({"10", "100", "1000"})
+	private int size;
+	
+	private List<User> users;
+	private List<UserDto> userDtos;
+	private List<Credential> credentials;
+	private List<CredentialDto> credentialDtos;
+	private List<Address> addresses;
+	private List<AddressDto> addressDtos;
+	private List<VerificationToken> verificationTokens;
+	private List<VerificationTokenDto> verificationTokenDtos;
+	
+	@Setup
+	public void setUp() {
+		this.users = UserFixtures.users(this.size);
+		this.userDtos = UserFixtures.userDtos(this.size);
+		this.credentials = UserFixtures.credentials(this.size);
+		this.credentialDtos = UserFixtures.credentialDtos(this.size);
+		this.addresses = UserFixtures.addresses(this.size);
+		this.addressDtos = UserFixtures.addressDtos(this.size);
+		this.verificationTokens = UserFixtures.verificationTokens(this.size);
+		this.verificationTokenDtos = UserFixtures.verificationTokenDtos(this.size);
+	}
+	
+	@Benchmark
+	public List<UserDto> toUserDto() {
+		return this.users.stream()
+				.map(UserMappingHelper::map)
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Benchmark
+	public List<User> toUser() {
+		return this.userDtos.stream()
+				.map(UserMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Benchmark
+	public List<CredentialDto> toCredentialDto() {
+		return this.credentials.stream()
+				.map(CredentialMappingHelper::map)
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Benchmark
+	public List<Credential> toCredential() {
+		return this.credentialDtos.stream()
+				.map(CredentialMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Benchmark
+	public List<AddressDto> toAddressDto() {
+		return this.addresses.stream()
+				.map(AddressMappingHelper::map)
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Benchmark
+	public List<Address> toAddress() {
+		return this.addressDtos.stream()
+				.map(AddressMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Benchmark
+	public List<VerificationTokenDto> toVerificationTokenDto() {
+		return this.verificationTokens.stream()
+				.map(VerificationTokenMappingHelper::map)
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Benchmark
+	public List<VerificationToken> toVerificationToken() {
+		return this.verificationTokenDtos.stream()
+				.map(VerificationTokenMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
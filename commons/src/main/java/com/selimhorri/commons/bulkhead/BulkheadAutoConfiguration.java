@@ -0,0 +1,35 @@
+package com.selimhorri.commons.bulkhead;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.commons.threads.WorkerThreads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class BulkheadAutoConfiguration {
+	
+	@Bean
+	public DownstreamBulkheads downstreamBulkheads(final BulkheadProperties properties, final WorkerThreads workerThreads,
+			final MeterRegistry meterRegistry, final BeanFactory beanFactory) {
+		return new DownstreamBulkheads(properties, workerThreads, meterRegistry, beanFactory);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,51 @@
+package com.selimhorri.commons.bulkhead;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.bulkhead")
+public class BulkheadProperties {
+	
+	/**
+	 * Pool used for any downstream without its own entry under instances.
+	 */
+	private Pool defaults = new Pool();
+	private Map<String, Pool> instances = new HashMap<>();
+	
+	public Pool pool(final String downstream) {
+		return this.instances.getOrDefault(downstream, this.defaults);
+	}
+	
+	@Data
+	public static class Pool {
+		
+		private int coreSize = 10;
+		private int maxSize = 20;
+		private int queueCapacity = 20;
+		private Duration keepAlive = Duration.ofSeconds(60);
+		
+		/**
+		 * Calls one request may have in flight at once when it enriches a whole list, below the core size so
+		 * a long list leaves room for other requests.
+		 */
+		private int fanOut = 8;
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
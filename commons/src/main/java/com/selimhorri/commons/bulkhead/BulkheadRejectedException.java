@@ -0,0 +1,35 @@
+package com.selimhorri.commons.bulkhead;
+
+public class BulkheadRejectedException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public BulkheadRejectedException() {
+		super();
+	}
+	
+	public BulkheadRejectedException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public BulkheadRejectedException(String message) {
+		super(message);
+	}
+	
+	public BulkheadRejectedException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,257 @@
+package com.selimhorri.commons.bulkhead;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.cloud.sleuth.instrument.async.TraceableExecutorService;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.selimhorri.commons.cost.RequestCost;
+import com.selimhorri.commons.deadline.Deadline;
+import com.selimhorri.commons.deadline.DeadlineExceededException;
+import com.selimhorri.commons.threads.CancellableTasks;
+import com.selimhorri.commons.threads.RequestContext;
+import com.selimhorri.commons.threads.WorkerThreads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * One bounded pool per downstream service, so a slow dependency can only tie up its own threads and queue.
+ * A call that finds its pool and queue full is rejected at once instead of waiting on a request thread.
+ */
+public class DownstreamBulkheads implements DisposableBean {
+	
+	private final BulkheadProperties properties;
+	private final WorkerThreads workerThreads;
+	private final MeterRegistry meterRegistry;
+	private final BeanFactory beanFactory;
+	private final Map<String, ExecutorService> executors = new ConcurrentHashMap<>();
+	
+	/**
+	 * Fails submitted calls once their request deadline passes. A call that finishes first cancels its timeout,
+	 * which then leaves the queue right away instead of keeping the call's result reachable until the deadline.
+	 */
+	private final ScheduledThreadPoolExecutor deadlines;
+	
+	public DownstreamBulkheads(final BulkheadProperties properties, final WorkerThreads workerThreads,
+			final MeterRegistry meterRegistry, final BeanFactory beanFactory) {
+		this.properties = properties;
+		this.workerThreads = workerThreads;
+		this.meterRegistry = meterRegistry;
+		this.beanFactory = beanFactory;
+		final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("bulkhead-deadline-");
+		threadFactory.setDaemon(true);
+		this.deadlines = new ScheduledThreadPoolExecutor(1, threadFactory);
+		this.deadlines.setRemoveOnCancelPolicy(true);
+	}
+	
+	/**
+	 * Runs the call on the downstream's pool and waits for it, no longer than the current request deadline.
+	 */
+	public <T> T execute(final String downstream, final Supplier<T> call) {
+		
+		final ExecutorService executor = this.executors.computeIfAbsent(downstream, this::create);
+		final Supplier<T> task = Deadline.wrap(RequestCost.wrap(call));
+		final Future<T> future;
+		try {
+			future = executor.submit(task::get);
+		}
+		catch (RejectedExecutionException e) {
+			throw this.rejected(downstream, e);
+		}
+		
+		try {
+			final Deadline deadline = Deadline.current().orElse(null);
+			return deadline == null ? future.get() : future.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+		}
+		catch (TimeoutException e) {
+			future.cancel(true);
+			throw new DeadlineExceededException(String.format("Deadline exceeded waiting for %s", downstream), e);
+		}
+		catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+		catch (ExecutionException e) {
+			throw unwrap(e);
+		}
+	}
+	
+	/**
+	 * Non-blocking variant for async endpoints, the future fails with a DeadlineExceededException once the
+	 * current request deadline passes. Cancelling it, or the deadline passing, interrupts the call.
+	 */
+	public <T> CompletableFuture<T> submit(final String downstream, final Supplier<T> call) {
+		
+		final ExecutorService executor = this.executors.computeIfAbsent(downstream, this::create);
+		final CompletableFuture<T> future;
+		try {
+			future = CancellableTasks.supplyAsync(Deadline.wrap(RequestCost.wrap(call)), executor);
+		}
+		catch (RejectedExecutionException e) {
+			return CompletableFuture.failedFuture(this.rejected(downstream, e));
+		}
+		
+		Deadline.current().ifPresent(deadline -> {
+			final ScheduledFuture<?> timeout = this.deadlines.schedule(() -> future.completeExceptionally(
+					new DeadlineExceededException(String.format("Deadline exceeded waiting for %s", downstream))),
+					deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+			future.whenComplete((result, failure) -> timeout.cancel(false));
+		});
+		return future;
+	}
+	
+	/**
+	 * Looks up every distinct key with no more than the downstream's fan-out calls of this request in flight, so
+	 * a long list queues behind itself instead of filling the pool and getting rejected. Fails with the first
+	 * failed call and starts no further ones.
+	 */
+	public <K, V> CompletableFuture<Map<K, V>> fanOut(final String downstream, final Collection<K> keys,
+			final Function<K, CompletableFuture<V>> call) {
+		
+		final Map<K, V> results = Collections.synchronizedMap(new HashMap<>());
+		final Queue<Supplier<CompletableFuture<Void>>> pending = new ConcurrentLinkedQueue<>();
+		new LinkedHashSet<>(keys).forEach(key -> pending.add(this.propagated(() -> start(call, key)
+				.thenAccept(value -> results.put(key, value)))));
+		
+		final CompletableFuture<?>[] lanes = new CompletableFuture<?>[Math.min(pending.size(),
+				Math.max(1, this.properties.pool(downstream).getFanOut()))];
+		for (int i = 0; i < lanes.length; i++)
+			lanes[i] = drain(pending);
+		return CompletableFuture.allOf(lanes)
+				.thenApply(ignored -> results);
+	}
+	
+	private static <K, V> CompletableFuture<V> start(final Function<K, CompletableFuture<V>> call, final K key) {
+		try {
+			return call.apply(key);
+		}
+		catch (RuntimeException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+	
+	private static CompletableFuture<Void> drain(final Queue<Supplier<CompletableFuture<Void>>> pending) {
+		final CompletableFuture<Void> lane = new CompletableFuture<>();
+		drain(pending, lane);
+		return lane;
+	}
+	
+	/**
+	 * Loops over lookups that are already complete (stale fallbacks, rejections) and only continues from the
+	 * completing thread when one is still running, so the stack does not grow with the number of keys.
+	 */
+	private static void drain(final Queue<Supplier<CompletableFuture<Void>>> pending, final CompletableFuture<Void> lane) {
+		Supplier<CompletableFuture<Void>> next;
+		while ((next = pending.poll()) != null) {
+			final CompletableFuture<Void> lookup = next.get();
+			if (!lookup.isDone()) {
+				lookup.whenComplete((ignored, failure) -> {
+					if (failure != null)
+						fail(pending, lane, failure);
+					else
+						drain(pending, lane);
+				});
+				return;
+			}
+			if (lookup.isCompletedExceptionally()) {
+				lookup.whenComplete((ignored, failure) -> fail(pending, lane, failure));
+				return;
+			}
+		}
+		lane.complete(null);
+	}
+	
+	private static void fail(final Queue<Supplier<CompletableFuture<Void>>> pending, final CompletableFuture<Void> lane,
+			final Throwable failure) {
+		pending.clear();
+		lane.completeExceptionally(failure);
+	}
+	
+	/**
+	 * The next lookups start from whichever pool thread finished the last one.
+	 */
+	private <T> Supplier<T> propagated(final Supplier<T> supplier) {
+		return RequestContext.wrap(this.beanFactory.getBeanProvider(Tracer.class).getIfAvailable(), supplier);
+	}
+	
+	private BulkheadRejectedException rejected(final String downstream, final RejectedExecutionException e) {
+		this.meterRegistry.counter("bulkhead.rejected", "downstream", downstream).increment();
+		return new BulkheadRejectedException(String.format("Bulkhead for %s is full", downstream), e);
+	}
+	
+	private ExecutorService create(final String downstream) {
+		
+		final BulkheadProperties.Pool pool = this.properties.pool(downstream);
+		final var executor = new ThreadPoolExecutor(
+				pool.getCoreSize(),
+				Math.max(pool.getCoreSize(), pool.getMaxSize()),
+				pool.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(pool.getQueueCapacity()),
+				this.workerThreads.factory("bulkhead-" + downstream + "-"),
+				new ThreadPoolExecutor.AbortPolicy());
+		
+		final ExecutorService monitored = ExecutorServiceMetrics.monitor(this.meterRegistry, executor, "bulkhead-" + downstream);
+		// these pools are not beans, so tracing has to be carried over explicitly
+		return this.beanFactory.getBeanProvider(Tracer.class).getIfAvailable() != null
+				? new TraceableExecutorService(this.beanFactory, monitored)
+				: monitored;
+	}
+	
+	private static RuntimeException unwrap(final ExecutionException e) {
+		Throwable cause = e.getCause();
+		while (cause instanceof CompletionException && cause.getCause() != null)
+			cause = cause.getCause();
+		if (cause instanceof RuntimeException)
+			return (RuntimeException) cause;
+		if (cause instanceof Error)
+			throw (Error) cause;
+		return new IllegalStateException(cause);
+	}
+	
+	int pendingDeadlines() {
+		return this.deadlines.getQueue().size();
+	}
+	
+	@Override
+	public void destroy() {
+		this.executors.values().forEach(ExecutorService::shutdown);
+		this.deadlines.shutdownNow();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,123 @@
+package com.selimhorri.commons.cost;
+
+import java.io.Closeable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+/**
+ * JDK proxies over the DataSource and everything it hands out, counting executed statements (a batch counts
+ * once, it is one round trip), the time spent executing them and the rows read, into the bound {@link RequestCost}.
+ * Nothing is counted outside of a request, e.g. Flyway at startup. The DataSource proxy stays {@link Closeable} when
+ * the pool is, closing the bean closes the pool.
+ */
+final class CostCountingJdbc {
+	
+	private CostCountingJdbc() {
+	}
+	
+	static DataSource dataSource(final DataSource target) {
+		if (target instanceof Closeable)
+			return proxy(DataSource.class, target, null, Closeable.class);
+		if (target instanceof AutoCloseable)
+			return proxy(DataSource.class, target, null, AutoCloseable.class);
+		return proxy(DataSource.class, target, null);
+	}
+	
+	private static <T> T proxy(final Class<T> type, final Object target, final Object parent, final Class<?>... extra) {
+		final Class<?>[] interfaces = new Class<?>[extra.length + 1];
+		interfaces[0] = type;
+		System.arraycopy(extra, 0, interfaces, 1, extra.length);
+		return type.cast(Proxy.newProxyInstance(CostCountingJdbc.class.getClassLoader(), interfaces,
+				new Handler(target, parent)));
+	}
+	
+	private static final class Handler implements InvocationHandler {
+		
+		private final Object target;
+		
+		/**
+		 * Proxy that created this one, returned from getConnection/getStatement so Hibernate finds the
+		 * statements it registered rather than the raw driver objects.
+		 */
+		private final Object parent;
+		
+		private Handler(final Object target, final Object parent) {
+			this.target = target;
+			this.parent = parent;
+		}
+		
+		@Override
+		public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+			
+			final String name = method.getName();
+			switch (name) {
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "getConnection":
+				case "getStatement":
+					if (this.parent != null)
+						return this.parent;
+					break;
+				default:
+			}
+			
+			final RequestCost cost = RequestCost.current().orElse(null);
+			final boolean execute = cost != null && this.target instanceof Statement && name.startsWith("execute");
+			final long start = execute ? System.nanoTime() : 0L;
+			final Object result;
+			try {
+				result = method.invoke(this.target, args);
+			}
+			catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+			finally {
+				if (execute)
+					cost.statement(System.nanoTime() - start);
+			}
+			
+			if (cost != null && this.target instanceof ResultSet && "next".equals(name) && Boolean.TRUE.equals(result))
+				cost.row();
+			return this.wrap(proxy, method.getReturnType(), result);
+		}
+		
+		private Object wrap(final Object proxy, final Class<?> type, final Object result) {
+			if (result == null)
+				return null;
+			if (type == Connection.class)
+				return CostCountingJdbc.proxy(Connection.class, result, proxy);
+			if (type == CallableStatement.class)
+				return CostCountingJdbc.proxy(CallableStatement.class, result, proxy);
+			if (type == PreparedStatement.class)
+				return CostCountingJdbc.proxy(PreparedStatement.class, result, proxy);
+			if (type == Statement.class)
+				return CostCountingJdbc.proxy(Statement.class, result, proxy);
+			if (type == ResultSet.class)
+				return CostCountingJdbc.proxy(ResultSet.class, result, this.target instanceof Statement ? proxy : null);
+			return result;
+		}
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,119 @@
+package com.selimhorri.commons.cost;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * What one inbound request spent: JDBC statements, rows read and time in them, outbound HTTP calls and time
+ * in them. Bound to the handling thread and carried over to the pools that enrich in parallel, so the counters
+ * are shared and the summed times can exceed the wall time of a fanned-out request.
+ */
+public final class RequestCost {
+	
+	public static final String ATTRIBUTE = RequestCost.class.getName();
+	
+	private static final ThreadLocal<RequestCost> CURRENT = new ThreadLocal<>();
+	
+	private final long startNanos = System.nanoTime();
+	private final LongAdder statements = new LongAdder();
+	private final LongAdder rows = new LongAdder();
+	private final LongAdder statementNanos = new LongAdder();
+	private final LongAdder remoteCalls = new LongAdder();
+	private final LongAdder remoteNanos = new LongAdder();
+	
+	public static Optional<RequestCost> current() {
+		return Optional.ofNullable(CURRENT.get());
+	}
+	
+	static RequestCost bind(final RequestCost cost) {
+		final RequestCost previous = CURRENT.get();
+		if (cost == null)
+			CURRENT.remove();
+		else
+			CURRENT.set(cost);
+		return previous;
+	}
+	
+	/**
+	 * Carries the caller's cost over to the thread that runs the supplier.
+	 */
+	public static <T> Supplier<T> wrap(final Supplier<T> supplier) {
+		final RequestCost cost = CURRENT.get();
+		if (cost == null)
+			return supplier;
+		return () -> {
+			final RequestCost previous = bind(cost);
+			try {
+				return supplier.get();
+			}
+			finally {
+				bind(previous);
+			}
+		};
+	}
+	
+	void statement(final long nanos) {
+		this.statements.increment();
+		this.statementNanos.add(nanos);
+	}
+	
+	void row() {
+		this.rows.increment();
+	}
+	
+	public void remoteCall(final long nanos) {
+		this.remoteCalls.increment();
+		this.remoteNanos.add(nanos);
+	}
+	
+	public long getStatements() {
+		return this.statements.sum();
+	}
+	
+	public long getRows() {
+		return this.rows.sum();
+	}
+	
+	public long getStatementNanos() {
+		return this.statementNanos.sum();
+	}
+	
+	public long getRemoteCalls() {
+		return this.remoteCalls.sum();
+	}
+	
+	public long getRemoteNanos() {
+		return this.remoteNanos.sum();
+	}
+	
+	public long getElapsedNanos() {
+		return System.nanoTime() - this.startNanos;
+	}
+	
+	/**
+	 * Server-Timing header value, e.g. {@code db;dur=12.5;desc="8 statements, 120 rows", http;dur=40.1;desc="3 calls", total;dur=61.0}.
+	 */
+	public String toServerTiming() {
+		return String.format("db;dur=%.1f;desc=\"%d statements, %d rows\", http;dur=%.1f;desc=\"%d calls\", total;dur=%.1f",
+				millis(this.getStatementNanos()), this.getStatements(), this.getRows(),
+				millis(this.getRemoteNanos()), this.getRemoteCalls(),
+				millis(this.getElapsedNanos()));
+	}
+	
+	private static double millis(final long nanos) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,76 @@
+package com.selimhorri.commons.cost;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.request-cost", name = "enabled", matchIfMissing = true)
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@EnableConfigurationProperties(RequestCostProperties.class)
+public class RequestCostAutoConfiguration {
+	
+	@Bean
+	public FilterRegistrationBean<RequestCostFilter> requestCostFilter(final RequestCostProperties properties,
+			final MeterRegistry meterRegistry) {
+		final FilterRegistrationBean<RequestCostFilter> registration = new FilterRegistrationBean<>(new RequestCostFilter(properties, meterRegistry));
+		// right after the deadline filter, so security and the dispatcher count towards the total
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 11);
+		return registration;
+	}
+	
+	@Bean
+	@ConditionalOnProperty(prefix = "app.request-cost", name = "server-timing", matchIfMissing = true)
+	public ServerTimingResponseBodyAdvice serverTimingResponseBodyAdvice() {
+		return new ServerTimingResponseBodyAdvice();
+	}
+	
+	/**
+	 * Post-processors like the deadline one, wrapping the pool keeps Hikari metrics working as they unwrap it.
+	 */
+	@Bean
+	public static BeanPostProcessor requestCostPostProcessor() {
+		return new BeanPostProcessor() {
+			
+			@Override
+			public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+				if (bean instanceof DataSource)
+					return CostCountingJdbc.dataSource((DataSource) bean);
+				if (bean instanceof RestTemplate) {
+					final RestTemplate restTemplate = (RestTemplate) bean;
+					final List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>(restTemplate.getInterceptors());
+					interceptors.add(new RequestCostClientHttpRequestInterceptor());
+					restTemplate.setInterceptors(interceptors);
+				}
+				return bean;
+			}
+			
+		};
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,42 @@
+package com.selimhorri.commons.cost;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Counts outbound RestTemplate calls and their time, up to the response headers, into the bound {@link RequestCost}.
+ */
+public class RequestCostClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+	
+	@Override
+	public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+			final ClientHttpRequestExecution execution) throws IOException {
+		
+		final RequestCost cost = RequestCost.current().orElse(null);
+		if (cost == null)
+			return execution.execute(request, body);
+		
+		final long start = System.nanoTime();
+		try {
+			return execution.execute(request, body);
+		}
+		finally {
+			cost.remoteCall(System.nanoTime() - start);
+		}
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,99 @@
+package com.selimhorri.commons.cost;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Binds a fresh {@link RequestCost} to every request and records it per endpoint once the response is done,
+ * for async endpoints that is at the end of the async dispatch.
+ */
+@RequiredArgsConstructor
+public class RequestCostFilter extends OncePerRequestFilter {
+	
+	private final RequestCostProperties properties;
+	private final MeterRegistry meterRegistry;
+	
+	@Override
+	protected boolean shouldNotFilterAsyncDispatch() {
+		return false;
+	}
+	
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+			final FilterChain filterChain) throws ServletException, IOException {
+		
+		RequestCost cost = (RequestCost) request.getAttribute(RequestCost.ATTRIBUTE);
+		if (cost == null) {
+			cost = new RequestCost();
+			request.setAttribute(RequestCost.ATTRIBUTE, cost);
+		}
+		
+		final RequestCost previous = RequestCost.bind(cost);
+		try {
+			filterChain.doFilter(request, response);
+		}
+		finally {
+			RequestCost.bind(previous);
+			if (!request.isAsyncStarted()) {
+				// bodies written by the controllers already got the header from ServerTimingResponseBodyAdvice
+				if (this.properties.isServerTiming() && !response.isCommitted() && !response.containsHeader(ServerTimingResponseBodyAdvice.HEADER))
+					response.setHeader(ServerTimingResponseBodyAdvice.HEADER, cost.toServerTiming());
+				this.record(request, cost);
+			}
+		}
+	}
+	
+	private void record(final HttpServletRequest request, final RequestCost cost) {
+		final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		final Tags tags = Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN");
+		this.summary("request.cost.jdbc.statements", "JDBC statements executed per request", "statements", tags)
+				.record(cost.getStatements());
+		this.summary("request.cost.jdbc.rows", "Result set rows read per request", "rows", tags)
+				.record(cost.getRows());
+		this.summary("request.cost.http.calls", "Outbound HTTP calls per request", "calls", tags)
+				.record(cost.getRemoteCalls());
+		this.timer(tags.and("category", "db")).record(cost.getStatementNanos(), TimeUnit.NANOSECONDS);
+		this.timer(tags.and("category", "http")).record(cost.getRemoteNanos(), TimeUnit.NANOSECONDS);
+		this.timer(tags.and("category", "total")).record(cost.getElapsedNanos(), TimeUnit.NANOSECONDS);
+	}
+	
+	private DistributionSummary summary(final String name, final String description, final String unit, final Tags tags) {
+		return DistributionSummary.builder(name)
+				.description(description)
+				.baseUnit(unit)
+				.tags(tags)
+				.register(this.meterRegistry);
+	}
+	
+	private Timer timer(final Tags tags) {
+		return Timer.builder("request.cost.time")
+				.description("Time per request spent in JDBC statements (db), outbound calls (http) and overall (total)")
+				.tags(tags)
+				.register(this.meterRegistry);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,31 @@
+package com.selimhorri.commons.cost;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.request-cost")
+public class RequestCostProperties {
+	
+	/**
+	 * Count JDBC statements, rows and outbound calls per request and record them per endpoint.
+	 */
+	private boolean enabled = true;
+	
+	/**
+	 * Also return the breakdown to the caller in a Server-Timing header.
+	 */
+	private boolean serverTiming = true;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,47 @@
+package com.selimhorri.commons.cost;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the Server-Timing header right before the body is written, the last point where headers can still be set.
+ */
+@ControllerAdvice
+public class ServerTimingResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+	
+	public static final String HEADER = "Server-Timing";
+	
+	@Override
+	public boolean supports(final MethodParameter returnType, final Class<? extends HttpMessageConverter<?>> converterType) {
+		return true;
+	}
+	
+	@Override
+	public Object beforeBodyWrite(final Object body, final MethodParameter returnType, final MediaType selectedContentType,
+			final Class<? extends HttpMessageConverter<?>> selectedConverterType, final ServerHttpRequest request,
+			final ServerHttpResponse response) {
+		if (request instanceof ServletServerHttpRequest) {
+			final Object cost = ((ServletServerHttpRequest) request).getServletRequest().getAttribute(RequestCost.ATTRIBUTE);
+			if (cost instanceof RequestCost)
+				response.getHeaders().set(HEADER, ((RequestCost) cost).toServerTiming());
+		}
+		return body;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,111 @@
+package com.selimhorri.commons.deadline;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Absolute point in time (epoch millis) by which the caller stops waiting for a response.
+ * Stamped by the gateway, carried across hops in {@link #HEADER} and bound to the handling thread.
+ */
+public final class Deadline {
+	
+	public static final String HEADER = "X-Request-Deadline";
+	
+	private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+	
+	private final long epochMillis;
+	
+	private Deadline(final long epochMillis) {
+		this.epochMillis = epochMillis;
+	}
+	
+	public static Deadline at(final long epochMillis) {
+		return new Deadline(epochMillis);
+	}
+	
+	public static Deadline after(final Duration budget) {
+		return new Deadline(System.currentTimeMillis() + budget.toMillis());
+	}
+	
+	public static Optional<Deadline> parse(final String header) {
+		if (header == null || header.isBlank())
+			return Optional.empty();
+		try {
+			return Optional.of(new Deadline(Long.parseLong(header.trim())));
+		}
+		catch (NumberFormatException e) {
+			return Optional.empty();
+		}
+	}
+	
+	public static Optional<Deadline> current() {
+		return Optional.ofNullable(CURRENT.get());
+	}
+	
+	static Deadline bind(final Deadline deadline) {
+		final Deadline previous = CURRENT.get();
+		if (deadline == null)
+			CURRENT.remove();
+		else
+			CURRENT.set(deadline);
+		return previous;
+	}
+	
+	/**
+	 * Carries the caller's deadline over to the thread that runs the supplier.
+	 */
+	public static <T> Supplier<T> wrap(final Supplier<T> supplier) {
+		final Deadline deadline = CURRENT.get();
+		if (deadline == null)
+			return supplier;
+		return wrap(deadline, supplier);
+	}
+	
+	/**
+	 * Runs the supplier bound to the given deadline, e.g. work started outside any request.
+	 */
+	public static <T> Supplier<T> wrap(final Deadline deadline, final Supplier<T> supplier) {
+		return () -> {
+			final Deadline previous = bind(deadline);
+			try {
+				return supplier.get();
+			}
+			finally {
+				bind(previous);
+			}
+		};
+	}
+	
+	public long getEpochMillis() {
+		return this.epochMillis;
+	}
+	
+	public Duration remaining() {
+		return Duration.ofMillis(Math.max(0L, this.epochMillis - System.currentTimeMillis()));
+	}
+	
+	public boolean isExpired() {
+		return System.currentTimeMillis() >= this.epochMillis;
+	}
+	
+	public Deadline min(final Deadline other) {
+		return other == null || this.epochMillis <= other.epochMillis ? this : other;
+	}
+	
+	@Override
+	public String toString() {
+		return String.valueOf(this.epochMillis);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
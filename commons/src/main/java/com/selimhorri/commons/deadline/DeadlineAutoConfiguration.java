@@ -0,0 +1,74 @@
+package com.selimhorri.commons.deadline;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.deadline", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(DeadlineProperties.class)
+public class DeadlineAutoConfiguration {
+	
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnWebApplication(type = Type.SERVLET)
+	static class ServletDeadlineConfiguration {
+		
+		@Bean
+		public FilterRegistrationBean<DeadlineFilter> deadlineFilter(final MeterRegistry meterRegistry) {
+			final FilterRegistrationBean<DeadlineFilter> registration = new FilterRegistrationBean<>(new DeadlineFilter(meterRegistry));
+			// right after the tracing filter, ahead of security and the dispatcher
+			registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+			return registration;
+		}
+		
+		/**
+		 * A post-processor rather than a RestTemplateCustomizer bean, declaring one of those would switch off
+		 * the customizer Spring Cloud uses to install its load balancer interceptor.
+		 */
+		@Bean
+		public static BeanPostProcessor deadlineRestTemplatePostProcessor(final ObjectProvider<DeadlineProperties> properties,
+				final ObjectProvider<MeterRegistry> meterRegistry) {
+			return new BeanPostProcessor() {
+				
+				@Override
+				public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+					if (bean instanceof RestTemplate) {
+						final RestTemplate restTemplate = (RestTemplate) bean;
+						restTemplate.setRequestFactory(new DeadlineClientHttpRequestFactory(properties.getObject()));
+						final List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>(restTemplate.getInterceptors());
+						interceptors.add(new DeadlineClientHttpRequestInterceptor(meterRegistry.getObject()));
+						restTemplate.setInterceptors(interceptors);
+					}
+					return bean;
+				}
+				
+			};
+		}
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,44 @@
+package com.selimhorri.commons.deadline;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.time.Duration;
+
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Sets connect and read timeouts per connection, capped by whatever is left of the current deadline.
+ */
+@RequiredArgsConstructor
+public class DeadlineClientHttpRequestFactory extends SimpleClientHttpRequestFactory {
+	
+	private final DeadlineProperties properties;
+	
+	@Override
+	protected void prepareConnection(final HttpURLConnection connection, final String httpMethod) throws IOException {
+		super.prepareConnection(connection, httpMethod);
+		connection.setConnectTimeout(timeout(this.properties.getConnectTimeout()));
+		connection.setReadTimeout(timeout(this.properties.getReadTimeout()));
+	}
+	
+	static int timeout(final Duration upperBound) {
+		final long millis = Deadline.current()
+				.map(deadline -> Math.min(upperBound.toMillis(), deadline.remaining().toMillis()))
+				.orElse(upperBound.toMillis());
+		// 0 means infinite for HttpURLConnection
+		return (int) Math.max(1L, millis);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
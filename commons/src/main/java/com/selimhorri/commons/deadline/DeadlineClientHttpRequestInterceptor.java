@@ -0,0 +1,59 @@
+package com.selimhorri.commons.deadline;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Forwards the deadline downstream and refuses to start a call once it has passed.
+ */
+@RequiredArgsConstructor
+public class DeadlineClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+	
+	private final MeterRegistry meterRegistry;
+	
+	@Override
+	public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+			final ClientHttpRequestExecution execution) throws IOException {
+		
+		final Optional<Deadline> deadline = Deadline.current();
+		if (deadline.isEmpty())
+			return execution.execute(request, body);
+		
+		if (deadline.get().isExpired())
+			throw this.exceeded(request, null);
+		
+		request.getHeaders().set(Deadline.HEADER, deadline.get().toString());
+		try {
+			return execution.execute(request, body);
+		}
+		catch (IOException e) {
+			if (deadline.get().isExpired())
+				throw this.exceeded(request, e);
+			throw e;
+		}
+	}
+	
+	private DeadlineExceededException exceeded(final HttpRequest request, final IOException cause) {
+		this.meterRegistry.counter("deadline.exceeded", "stage", "outbound").increment();
+		return new DeadlineExceededException("#### Deadline exceeded calling " + request.getURI().getHost() + "! ####", cause);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
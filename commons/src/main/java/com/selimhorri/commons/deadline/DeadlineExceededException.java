@@ -0,0 +1,35 @@
+package com.selimhorri.commons.deadline;
+
+public class DeadlineExceededException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public DeadlineExceededException() {
+		super();
+	}
+	
+	public DeadlineExceededException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public DeadlineExceededException(String message) {
+		super(message);
+	}
+	
+	public DeadlineExceededException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
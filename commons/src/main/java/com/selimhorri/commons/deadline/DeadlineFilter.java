@@ -0,0 +1,61 @@
+package com.selimhorri.commons.deadline;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Binds the inbound deadline to the request thread, requests that arrive already expired are not handled at all.
+ */
+@RequiredArgsConstructor
+public class DeadlineFilter extends OncePerRequestFilter {
+	
+	private final MeterRegistry meterRegistry;
+	
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+			final FilterChain filterChain) throws ServletException, IOException {
+		
+		final Optional<Deadline> deadline = Deadline.parse(request.getHeader(Deadline.HEADER));
+		if (deadline.isEmpty()) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		
+		if (deadline.get().isExpired()) {
+			this.meterRegistry.counter("deadline.exceeded", "stage", "inbound").increment();
+			// plain status rather than sendError, the error dispatch would go through security again
+			response.setStatus(HttpStatus.GATEWAY_TIMEOUT.value());
+			return;
+		}
+		
+		final Deadline previous = Deadline.bind(deadline.get());
+		try {
+			filterChain.doFilter(request, response);
+		}
+		finally {
+			Deadline.bind(previous);
+		}
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,36 @@
+package com.selimhorri.commons.deadline;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.deadline")
+public class DeadlineProperties {
+	
+	private boolean enabled = true;
+	
+	/**
+	 * Budget the gateway grants a request when the route sets no {@code deadline} metadata.
+	 */
+	private Duration budget = Duration.ofSeconds(10);
+	
+	/**
+	 * Upper bounds for outbound calls, also used as-is when the inbound request carries no deadline.
+	 */
+	private Duration connectTimeout = Duration.ofSeconds(2);
+	private Duration readTimeout = Duration.ofSeconds(5);
+	
+}
+
+
+
+
+
+
+
+
+
+
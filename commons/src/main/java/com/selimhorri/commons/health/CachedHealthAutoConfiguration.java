@@ -0,0 +1,64 @@
+package com.selimhorri.commons.health;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.health.HealthContributorNameFactory;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Proxies every blocking health indicator (db, disk space, discovery client, ...) with a
+ * {@link CachedHealthInterceptor}, so /actuator/health and its liveness and readiness groups cost no connection or
+ * remote call per probe. The proxy keeps the bean's interfaces, listeners stay registered. Reactive contributors are
+ * left as they are.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(HealthIndicator.class)
+@ConditionalOnProperty(prefix = "app.health.cache", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(CachedHealthProperties.class)
+public class CachedHealthAutoConfiguration {
+	
+	@Bean
+	public HealthCheckScheduler healthCheckScheduler(final CachedHealthProperties properties) {
+		return new HealthCheckScheduler(properties);
+	}
+	
+	@Bean
+	public static BeanPostProcessor cachedHealthIndicatorPostProcessor(
+			final ObjectProvider<CachedHealthProperties> properties, final ObjectProvider<HealthCheckScheduler> scheduler) {
+		return new BeanPostProcessor() {
+			
+			@Override
+			public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+				if (!(bean instanceof HealthIndicator))
+					return bean;
+				final String name = HealthContributorNameFactory.INSTANCE.apply(beanName);
+				if (properties.getObject().getExclude().contains(name))
+					return bean;
+				final CachedHealthInterceptor interceptor = new CachedHealthInterceptor(name, (HealthIndicator) bean,
+						properties.getObject().getMaxAge());
+				scheduler.getObject().register(interceptor);
+				final ProxyFactory proxyFactory = new ProxyFactory(bean);
+				proxyFactory.addAdvice(interceptor);
+				return proxyFactory.getProxy();
+			}
+			
+		};
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,89 @@
+package com.selimhorri.commons.health;
+
+import java.time.Duration;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Answers health() and getHealth(boolean) of a health indicator with its last result, {@link HealthCheckScheduler}
+ * refreshes it in the background. Probes never run the check themselves, before the first refresh completes the
+ * indicator is OUT_OF_SERVICE so readiness waits for it without blocking on a check that hangs at startup.
+ */
+@Slf4j
+public class CachedHealthInterceptor implements MethodInterceptor {
+	
+	private final String name;
+	private final HealthIndicator target;
+	private final long maxAgeNanos;
+	private volatile Result last;
+	
+	public CachedHealthInterceptor(final String name, final HealthIndicator target, final Duration maxAge) {
+		this.name = name;
+		this.target = target;
+		this.maxAgeNanos = maxAge.toNanos();
+	}
+	
+	@Override
+	public Object invoke(final MethodInvocation invocation) throws Throwable {
+		final String method = invocation.getMethod().getName();
+		if (method.equals("health") && invocation.getArguments().length == 0)
+			return this.cached(true);
+		if (method.equals("getHealth") && invocation.getArguments().length == 1)
+			return this.cached((Boolean) invocation.getArguments()[0]);
+		return invocation.proceed();
+	}
+	
+	private Health cached(final boolean includeDetails) {
+		final Result result = this.last;
+		if (result == null)
+			return Health.outOfService().withDetail("reason", "Not checked yet").build();
+		final long age = System.nanoTime() - result.checkedNanos;
+		if (age > this.maxAgeNanos)
+			return Health.down()
+					.withDetail("error", String.format("No result for %d ms, the check is hanging or not scheduled",
+							Duration.ofNanos(age).toMillis()))
+					.build();
+		return includeDetails ? result.health : Health.status(result.health.getStatus()).build();
+	}
+	
+	void refresh() {
+		Health health;
+		try {
+			health = this.target.getHealth(true);
+		}
+		catch (Exception e) {
+			health = Health.down(e).build();
+		}
+		final Result previous = this.last;
+		if (previous != null && !previous.health.getStatus().equals(health.getStatus()))
+			log.warn("*** Health of {} went from {} to {} *", this.name, previous.health.getStatus(), health.getStatus());
+		this.last = new Result(health, System.nanoTime());
+	}
+	
+	String getName() {
+		return this.name;
+	}
+	
+	@RequiredArgsConstructor
+	private static final class Result {
+		final Health health;
+		final long checkedNanos;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,47 @@
+package com.selimhorri.commons.health;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.health.cache")
+public class CachedHealthProperties {
+	
+	/**
+	 * Run the health indicators in the background and answer /actuator/health from their last result.
+	 */
+	private boolean enabled = true;
+	
+	/**
+	 * Delay between two runs of the same indicator.
+	 */
+	private Duration interval = Duration.ofSeconds(10);
+	
+	/**
+	 * A result older than this, because its check hangs or the scheduler fell behind, is reported DOWN.
+	 */
+	private Duration maxAge = Duration.ofSeconds(45);
+	
+	/**
+	 * Contributors left live, they only read in-memory state. Circuit breaker transitions are asserted through
+	 * /actuator/health by the black-box tests.
+	 */
+	private List<String> exclude = new ArrayList<>(
+			List.of("ping", "livenessState", "readinessState", "circuitBreakers", "rateLimiters"));
+	
+}
+
+
+
+
+
+
+
+
+
+
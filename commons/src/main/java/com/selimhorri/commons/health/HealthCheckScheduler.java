@@ -0,0 +1,79 @@
+package com.selimhorri.commons.health;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Refreshes every {@link CachedHealthInterceptor} at a fixed delay once the context is up, so no probe ever
+ * waits on a database or a remote call. Each indicator runs on its own thread, a hanging check only holds up
+ * itself and is reported DOWN once its result is older than {@link CachedHealthProperties#getMaxAge()}.
+ */
+@Slf4j
+public class HealthCheckScheduler implements SmartLifecycle {
+	
+	private final CachedHealthProperties properties;
+	private final List<CachedHealthInterceptor> indicators = new ArrayList<>();
+	private List<ScheduledExecutorService> executors;
+	
+	public HealthCheckScheduler(final CachedHealthProperties properties) {
+		this.properties = properties;
+	}
+	
+	synchronized void register(final CachedHealthInterceptor indicator) {
+		this.indicators.add(indicator);
+		if (this.executors != null)
+			this.schedule(indicator);
+	}
+	
+	private void schedule(final CachedHealthInterceptor indicator) {
+		final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				"health-check-" + indicator.getName() + "-");
+		threadFactory.setDaemon(true);
+		final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+		executor.scheduleWithFixedDelay(indicator::refresh, 0L, this.properties.getInterval().toNanos(),
+				TimeUnit.NANOSECONDS);
+		this.executors.add(executor);
+	}
+	
+	@Override
+	public synchronized void start() {
+		this.executors = new ArrayList<>();
+		this.indicators.forEach(this::schedule);
+		log.info("*** Checking {} every {} in the background *", this.indicators.stream()
+				.map(CachedHealthInterceptor::getName)
+				.collect(Collectors.toList()), this.properties.getInterval());
+	}
+	
+	@Override
+	public synchronized void stop() {
+		if (this.executors != null) {
+			this.executors.forEach(ScheduledExecutorService::shutdownNow);
+			this.executors = null;
+		}
+	}
+	
+	@Override
+	public synchronized boolean isRunning() {
+		return this.executors != null;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,50 @@
+package com.selimhorri.commons.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket shared by every hedged call in the process, each primary earns a fraction of a token
+ * and each hedge spends a whole one, so hedges stay a bounded share of the traffic.
+ */
+class HedgeBudget {
+	
+	private static final long SCALE = 1_000_000L;
+	
+	private final AtomicLong balance = new AtomicLong();
+	private final long deposit;
+	private final long capacity;
+	
+	HedgeBudget(final double ratio, final int reserve) {
+		this.deposit = (long) (ratio * SCALE);
+		this.capacity = Math.max(1, reserve) * SCALE;
+	}
+	
+	void deposit() {
+		this.balance.accumulateAndGet(this.deposit, (current, amount) -> Math.min(this.capacity, current + amount));
+	}
+	
+	boolean tryWithdraw() {
+		while (true) {
+			final long current = this.balance.get();
+			if (current < SCALE)
+				return false;
+			if (this.balance.compareAndSet(current, current - SCALE))
+				return true;
+		}
+	}
+	
+	double available() {
+		return (double) this.balance.get() / SCALE;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,202 @@
+package com.selimhorri.commons.hedging;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.sleuth.Tracer;
+
+import com.selimhorri.commons.loadbalancer.LoadBalancerHint;
+import com.selimhorri.commons.threads.RequestContext;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+/**
+ * Runs an idempotent call and, if it is still outstanding after the target's recent p95, races a second
+ * attempt against another instance and returns whichever succeeds first. Only for side-effect free lookups.
+ * The attempts run wherever the caller's launcher puts them, the target's bulkhead in practice.
+ */
+public class Hedger {
+	
+	private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1L);
+	
+	private final HedgingProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final ObjectProvider<Tracer> tracer;
+	private final HedgeBudget budget;
+	private final Map<String, Target> targets = new ConcurrentHashMap<>();
+	
+	public Hedger(final HedgingProperties properties, final MeterRegistry meterRegistry, final ObjectProvider<Tracer> tracer) {
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+		this.tracer = tracer;
+		this.budget = new HedgeBudget(properties.getBudgetRatio(), properties.getBudgetReserve());
+		meterRegistry.gauge("hedging.budget.available", this.budget, HedgeBudget::available);
+	}
+	
+	/**
+	 * Blocking variant of {@link #submit(String, Function, Supplier)}.
+	 */
+	public <T> T execute(final String target, final Function<Supplier<T>, CompletableFuture<T>> launcher,
+			final Supplier<T> call) {
+		return this.await(this.submit(target, launcher, call));
+	}
+	
+	/**
+	 * Starts each attempt through the launcher, e.g. onto the target's bulkhead, and holds no thread while waiting:
+	 * the hedge is started from a timer once the primary is overdue. The losing attempt is cancelled, which only
+	 * frees its thread when the launcher's futures pass cancel on to their task, as DownstreamBulkheads.submit does.
+	 */
+	public <T> CompletableFuture<T> submit(final String target, final Function<Supplier<T>, CompletableFuture<T>> launcher,
+			final Supplier<T> call) {
+		
+		if (!this.properties.isEnabled())
+			return launcher.apply(call);
+		
+		final Target stats = this.targets.computeIfAbsent(target, Target::new);
+		this.budget.deposit();
+		
+		final LoadBalancerHint hint = LoadBalancerHint.create();
+		final CompletableFuture<T> primary = launcher.apply(hint.wrap(this.timed(stats, call)));
+		final long delay = stats.delayNanos();
+		if (delay <= 0L)
+			return primary;
+		
+		// completed with the hedge once started, or with null once it no longer will be
+		final CompletableFuture<CompletableFuture<T>> hedge = new CompletableFuture<>();
+		final CompletableFuture<T> first = new CompletableFuture<>();
+		primary.whenComplete((result, failure) -> {
+			hedge.complete(null);
+			final boolean hedged = hedge.join() != null;
+			if (failure == null) {
+				if (first.complete(result))
+					this.record(target, hedged ? "hedge_lost" : "primary");
+				if (hedged)
+					hedge.join().cancel(true);
+			}
+			else if (!hedged)
+				first.completeExceptionally(failure);
+			// only fail when both attempts did, and then with the primary's error
+			else
+				hedge.join().whenComplete((ignored, hedgeFailure) -> {
+					if (hedgeFailure != null)
+						first.completeExceptionally(failure);
+				});
+		});
+		
+		final Supplier<CompletableFuture<T>> startHedge = RequestContext.wrap(this.tracer.getIfAvailable(),
+				() -> launcher.apply(hint.sibling().wrap(this.timed(stats, call))));
+		CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(() -> {
+			if (hedge.isDone())
+				return;
+			if (!this.budget.tryWithdraw()) {
+				this.record(target, "budget_exhausted");
+				hedge.complete(null);
+				return;
+			}
+			final CompletableFuture<T> attempt = startHedge.get();
+			attempt.thenAccept(result -> {
+				if (first.complete(result)) {
+					this.record(target, "hedge_won");
+					primary.cancel(true);
+				}
+			});
+			// the primary finished while the hedge was being started, its outcome already stands
+			if (!hedge.complete(attempt))
+				attempt.cancel(true);
+		});
+		
+		return first;
+	}
+	
+	private <T> Supplier<T> timed(final Target stats, final Supplier<T> call) {
+		return () -> {
+			final long start = System.nanoTime();
+			final T result = call.get();
+			stats.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			return result;
+		};
+	}
+	
+	private <T> T await(final CompletableFuture<T> future) {
+		try {
+			return future.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+		catch (ExecutionException e) {
+			throw unwrap(e);
+		}
+	}
+	
+	private void record(final String target, final String result) {
+		this.meterRegistry.counter("hedging.requests", "target", target, "result", result).increment();
+	}
+	
+	private static RuntimeException unwrap(final ExecutionException e) {
+		Throwable cause = e.getCause();
+		while (cause instanceof CompletionException && cause.getCause() != null)
+			cause = cause.getCause();
+		if (cause instanceof RuntimeException)
+			return (RuntimeException) cause;
+		if (cause instanceof Error)
+			throw (Error) cause;
+		return new IllegalStateException(cause);
+	}
+	
+	private final class Target {
+		
+		private final Timer timer;
+		private volatile long delayNanos;
+		private volatile long refreshedAt;
+		
+		private Target(final String name) {
+			this.timer = Timer.builder("hedging.attempt")
+					.tag("target", name)
+					.publishPercentiles(Hedger.this.properties.getPercentile())
+					.register(Hedger.this.meterRegistry);
+			this.refreshedAt = System.nanoTime() - DELAY_REFRESH_NANOS;
+		}
+		
+		/**
+		 * Recent percentile latency clamped to the configured bounds, 0 while there are too few samples to trust.
+		 */
+		private long delayNanos() {
+			final long now = System.nanoTime();
+			if (now - this.refreshedAt < DELAY_REFRESH_NANOS)
+				return this.delayNanos;
+			this.refreshedAt = now;
+			
+			if (this.timer.count() < Hedger.this.properties.getMinimumSamples())
+				return this.delayNanos = 0L;
+			
+			double percentile = 0.0;
+			for (final ValueAtPercentile value : this.timer.takeSnapshot().percentileValues())
+				percentile = value.value(TimeUnit.NANOSECONDS);
+			return this.delayNanos = Math.max(Hedger.this.properties.getMinimumDelay().toNanos(),
+					Math.min(Hedger.this.properties.getMaximumDelay().toNanos(), (long) percentile));
+		}
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,34 @@
+package com.selimhorri.commons.hedging;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@EnableConfigurationProperties(HedgingProperties.class)
+public class HedgingAutoConfiguration {
+	
+	@Bean
+	public Hedger hedger(final HedgingProperties properties, final MeterRegistry meterRegistry,
+			final ObjectProvider<Tracer> tracer) {
+		return new Hedger(properties, meterRegistry, tracer);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,39 @@
+package com.selimhorri.commons.hedging;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.hedging")
+public class HedgingProperties {
+	
+	private boolean enabled = false;
+	
+	/**
+	 * A hedge is sent once the primary has been outstanding longer than this percentile of recent attempts.
+	 */
+	private double percentile = 0.95;
+	private long minimumSamples = 100L;
+	private Duration minimumDelay = Duration.ofMillis(5);
+	private Duration maximumDelay = Duration.ofSeconds(1);
+	
+	/**
+	 * Hedges allowed per primary request, with a small reserve for bursts.
+	 */
+	private double budgetRatio = 0.05;
+	private int budgetReserve = 10;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,70 @@
+package com.selimhorri.commons.jfr;
+
+import java.util.Collection;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decides who may use /actuator/jfr: the bearer token must be one the proxy-client signed, unexpired, with
+ * ROLE_ADMIN in its roles claim. Checked in every service, most of them have no Spring Security.
+ */
+@Slf4j
+public class FlightRecorderAccess {
+	
+	public static final String ROLES_CLAIM = "roles";
+	public static final String ROLE_ADMIN = "ROLE_ADMIN";
+	
+	private static final String BEARER = "Bearer ";
+	
+	private final String signingKey;
+	
+	public FlightRecorderAccess(final String signingKey) {
+		this.signingKey = signingKey;
+	}
+	
+	/**
+	 * @return null when the request may go on, otherwise the status to answer with
+	 */
+	@Nullable
+	public HttpStatus check(@Nullable final String authorization, final String path) {
+		
+		if (authorization == null || !authorization.startsWith(BEARER))
+			return HttpStatus.UNAUTHORIZED;
+		
+		final Claims claims;
+		try {
+			claims = Jwts.parser()
+					.setSigningKey(this.signingKey)
+					.parseClaimsJws(authorization.substring(BEARER.length()))
+					.getBody();
+		}
+		catch (JwtException | IllegalArgumentException e) {
+			log.warn("*** Rejected token on {}: {} *", path, e.getMessage());
+			return HttpStatus.UNAUTHORIZED;
+		}
+		
+		final Object roles = claims.get(ROLES_CLAIM);
+		if (!(roles instanceof Collection) || !((Collection<?>) roles).contains(ROLE_ADMIN)) {
+			log.warn("*** {} is not allowed on {} *", claims.getSubject(), path);
+			return HttpStatus.FORBIDDEN;
+		}
+		return null;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
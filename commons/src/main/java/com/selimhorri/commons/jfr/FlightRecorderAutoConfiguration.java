@@ -0,0 +1,83 @@
+package com.selimhorri.commons.jfr;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.autoconfigure.endpoint.web.WebEndpointProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * On-demand JFR recordings behind /actuator/jfr. The services' actuators are otherwise open to the gateway, so
+ * the path is guarded by {@link FlightRecorderAccess}, through a servlet filter or, in the gateway, a web filter.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(name = "jdk.jfr.FlightRecorder")
+@ConditionalOnProperty(prefix = "app.jfr", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(FlightRecorderProperties.class)
+public class FlightRecorderAutoConfiguration {
+	
+	@Bean
+	@ConditionalOnAvailableEndpoint
+	public FlightRecorderEndpoint flightRecorderEndpoint(final FlightRecorderProperties properties) {
+		return new FlightRecorderEndpoint(properties);
+	}
+	
+	@Bean
+	public FlightRecorderAccess flightRecorderAccess(final FlightRecorderProperties properties) {
+		return new FlightRecorderAccess(properties.getSigningKey());
+	}
+	
+	private static String endpointPath(final ObjectProvider<WebEndpointProperties> webEndpointProperties) {
+		return webEndpointProperties.getIfAvailable(WebEndpointProperties::new).getBasePath() + "/jfr";
+	}
+	
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnWebApplication(type = Type.SERVLET)
+	static class ServletFlightRecorderConfiguration {
+		
+		@Bean
+		@ConditionalOnAvailableEndpoint(endpoint = FlightRecorderEndpoint.class)
+		public FilterRegistrationBean<FlightRecorderSecurityFilter> flightRecorderSecurityFilter(
+				final FlightRecorderAccess access, final ObjectProvider<WebEndpointProperties> webEndpointProperties) {
+			final String path = endpointPath(webEndpointProperties);
+			final FilterRegistrationBean<FlightRecorderSecurityFilter> registration = new FilterRegistrationBean<>(
+					new FlightRecorderSecurityFilter(access));
+			registration.addUrlPatterns(path, path + "/*");
+			// after the deadline and request cost filters, ahead of security and the dispatcher
+			registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 12);
+			return registration;
+		}
+		
+	}
+	
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnWebApplication(type = Type.REACTIVE)
+	static class ReactiveFlightRecorderConfiguration {
+		
+		@Bean
+		@ConditionalOnAvailableEndpoint(endpoint = FlightRecorderEndpoint.class)
+		public FlightRecorderSecurityWebFilter flightRecorderSecurityWebFilter(final FlightRecorderAccess access,
+				final ObjectProvider<WebEndpointProperties> webEndpointProperties) {
+			return new FlightRecorderSecurityWebFilter(access, endpointPath(webEndpointProperties));
+		}
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
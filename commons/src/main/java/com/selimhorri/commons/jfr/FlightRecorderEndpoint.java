@@ -0,0 +1,210 @@
+package com.selimhorri.commons.jfr;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * /actuator/jfr, Java Flight Recorder on demand:
+ * <ul>
+ * <li>GET lists the recordings started here</li>
+ * <li>POST {"settings": "profile", "duration": "2m", "name": "..."} starts one, every field optional</li>
+ * <li>POST /{id} stops it early, the data is kept</li>
+ * <li>GET /{id} downloads the .jfr file, a running recording gives what it has recorded so far</li>
+ * <li>DELETE /{id} stops it and discards the data</li>
+ * </ul>
+ * Recordings started from the command line (-XX:StartFlightRecording) or jcmd are left alone.
+ */
+@Slf4j
+@WebEndpoint(id = "jfr")
+@RequiredArgsConstructor
+public class FlightRecorderEndpoint implements DisposableBean {
+	
+	private final FlightRecorderProperties properties;
+	private final Map<Long, Recording> recordings = new LinkedHashMap<>();
+	
+	@ReadOperation
+	public synchronized List<RecordingDescriptor> recordings() {
+		return this.recordings.values().stream()
+				.map(RecordingDescriptor::of)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@WriteOperation
+	public synchronized RecordingDescriptor start(@Nullable final String settings, @Nullable final Duration duration,
+			@Nullable final String name) {
+		
+		final Duration length = duration == null ? this.properties.getDuration() : duration;
+		if (length.isNegative() || length.isZero() || length.compareTo(this.properties.getMaxDuration()) > 0)
+			throw new InvalidEndpointRequestException("Invalid duration " + length,
+					String.format("Duration must be positive and at most %s", this.properties.getMaxDuration()));
+		final String settingsName = settings == null ? this.properties.getSettings() : settings;
+		final Configuration configuration = configuration(settingsName);
+		this.makeRoom();
+		
+		final Recording recording = new Recording(configuration);
+		recording.setName(name == null ? settingsName : name);
+		recording.setDuration(length);
+		recording.setMaxSize(this.properties.getMaxSize().toBytes());
+		recording.setToDisk(true);
+		recording.enable(ServiceMethodEvent.class).withThreshold(this.properties.getSpanThreshold());
+		recording.enable(RemoteCallEvent.class).withThreshold(this.properties.getSpanThreshold());
+		recording.start();
+		this.recordings.put(recording.getId(), recording);
+		
+		log.info("*** JFR recording {} started with {} settings for {} *", recording.getId(), settingsName, length);
+		return RecordingDescriptor.of(recording);
+	}
+	
+	@WriteOperation
+	public synchronized WebEndpointResponse<RecordingDescriptor> stop(@Selector final long id) {
+		final Recording recording = this.recordings.get(id);
+		if (recording == null)
+			return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+		if (recording.getState() == RecordingState.RUNNING) {
+			recording.stop();
+			log.info("*** JFR recording {} stopped *", id);
+		}
+		return new WebEndpointResponse<>(RecordingDescriptor.of(recording));
+	}
+	
+	@ReadOperation(produces = "application/octet-stream")
+	public WebEndpointResponse<Resource> download(@Selector final long id) throws IOException {
+		
+		final Recording source;
+		synchronized (this) {
+			final Recording recording = this.recordings.get(id);
+			if (recording == null)
+				return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+			// A stopped copy holds everything recorded so far, the original keeps running
+			source = recording.getState() == RecordingState.RUNNING ? recording.copy(true) : recording;
+		}
+		
+		final InputStream stream = source.getStream(null, null);
+		if (stream == null) {
+			closeCopy(source, id);
+			return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NO_CONTENT);
+		}
+		return new WebEndpointResponse<>(new InputStreamResource(new FilterInputStream(stream) {
+			
+			@Override
+			public void close() throws IOException {
+				try {
+					super.close();
+				}
+				finally {
+					closeCopy(source, id);
+				}
+			}
+			
+		}));
+	}
+	
+	@DeleteOperation
+	public synchronized WebEndpointResponse<RecordingDescriptor> close(@Selector final long id) {
+		final Recording recording = this.recordings.remove(id);
+		if (recording == null)
+			return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+		recording.close();
+		log.info("*** JFR recording {} closed *", id);
+		return new WebEndpointResponse<>(RecordingDescriptor.of(recording));
+	}
+	
+	private static void closeCopy(final Recording source, final long id) {
+		if (source.getId() != id)
+			source.close();
+	}
+	
+	private static Configuration configuration(final String name) {
+		try {
+			return Configuration.getConfiguration(name);
+		}
+		catch (IOException | ParseException e) {
+			final String available = Configuration.getConfigurations().stream()
+					.map(Configuration::getName)
+					.collect(Collectors.joining(", "));
+			throw new InvalidEndpointRequestException("Unknown JFR settings " + name,
+					String.format("Unknown JFR settings '%s', available: %s", name, available));
+		}
+	}
+	
+	/**
+	 * Each recording holds up to max-size on disk, so only a few are kept. The oldest stopped one goes first,
+	 * running ones are never closed behind the caller's back.
+	 */
+	private void makeRoom() {
+		if (this.recordings.size() < this.properties.getMaxRecordings())
+			return;
+		final Recording oldest = this.recordings.values().stream()
+				.filter(recording -> recording.getState() != RecordingState.RUNNING)
+				.findFirst()
+				.orElseThrow(() -> new InvalidEndpointRequestException("Too many recordings",
+						String.format("%d recordings already running, stop or delete one first",
+								this.recordings.size())));
+		this.recordings.remove(oldest.getId());
+		oldest.close();
+	}
+	
+	@Override
+	public synchronized void destroy() {
+		this.recordings.values().forEach(Recording::close);
+		this.recordings.clear();
+	}
+	
+	/**
+	 * Times as ISO-8601 strings, the services do not all register the Jackson java.time module.
+	 */
+	@Value
+	public static class RecordingDescriptor {
+		long id;
+		String name;
+		String state;
+		String startTime;
+		String stopTime;
+		String duration;
+		long size;
+		
+		static RecordingDescriptor of(final Recording recording) {
+			return new RecordingDescriptor(recording.getId(), recording.getName(), recording.getState().name(),
+					Objects.toString(recording.getStartTime(), null), Objects.toString(recording.getStopTime(), null),
+					Objects.toString(recording.getDuration(), null), recording.getSize());
+		}
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
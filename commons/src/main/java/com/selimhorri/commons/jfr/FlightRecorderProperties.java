@@ -0,0 +1,64 @@
+package com.selimhorri.commons.jfr;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.jfr")
+public class FlightRecorderProperties {
+	
+	/**
+	 * Expose the jfr actuator endpoint, recordings are still only started on request.
+	 */
+	private boolean enabled = true;
+	
+	/**
+	 * Key the proxy-client signs its tokens with, /actuator/jfr only answers to a valid one carrying ROLE_ADMIN.
+	 */
+	private String signingKey = "secret";
+	
+	/**
+	 * JFR settings used when the request names none, "default" (about 1% overhead) or "profile" (about 2%).
+	 */
+	private String settings = "profile";
+	
+	/**
+	 * Length of a recording when the request gives none, the recording stops by itself afterwards.
+	 */
+	private Duration duration = Duration.ofMinutes(1);
+	
+	/**
+	 * Longest recording that can be requested.
+	 */
+	private Duration maxDuration = Duration.ofMinutes(15);
+	
+	/**
+	 * Disk kept per recording, older chunks are dropped beyond it.
+	 */
+	private DataSize maxSize = DataSize.ofMegabytes(250);
+	
+	/**
+	 * Recordings kept at once, running or stopped. The oldest stopped one is closed to make room.
+	 */
+	private int maxRecordings = 3;
+	
+	/**
+	 * Service method and remote call spans shorter than this are not recorded, 0 records every span.
+	 */
+	private Duration spanThreshold = Duration.ZERO;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,46 @@
+package com.selimhorri.commons.jfr;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Servlet side of {@link FlightRecorderAccess}, registered on the jfr endpoint's paths only.
+ */
+public class FlightRecorderSecurityFilter extends OncePerRequestFilter {
+	
+	private final FlightRecorderAccess access;
+	
+	public FlightRecorderSecurityFilter(final FlightRecorderAccess access) {
+		this.access = access;
+	}
+	
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+			final FilterChain filterChain) throws ServletException, IOException {
+		final HttpStatus denied = this.access.check(request.getHeader(HttpHeaders.AUTHORIZATION), request.getRequestURI());
+		if (denied != null) {
+			response.sendError(denied.value());
+			return;
+		}
+		filterChain.doFilter(request, response);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
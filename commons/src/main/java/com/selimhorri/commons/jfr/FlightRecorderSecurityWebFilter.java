@@ -0,0 +1,47 @@
+package com.selimhorri.commons.jfr;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive side of {@link FlightRecorderAccess}, for the api-gateway's own actuator.
+ */
+public class FlightRecorderSecurityWebFilter implements WebFilter {
+	
+	private final FlightRecorderAccess access;
+	private final String path;
+	
+	public FlightRecorderSecurityWebFilter(final FlightRecorderAccess access, final String path) {
+		this.access = access;
+		this.path = path;
+	}
+	
+	@Override
+	public Mono<Void> filter(final ServerWebExchange exchange, final WebFilterChain chain) {
+		final String requestPath = exchange.getRequest().getPath().pathWithinApplication().value();
+		if (!requestPath.equals(this.path) && !requestPath.startsWith(this.path + "/"))
+			return chain.filter(exchange);
+		final HttpStatus denied = this.access.check(exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION),
+				requestPath);
+		if (denied == null)
+			return chain.filter(exchange);
+		exchange.getResponse().setStatusCode(denied);
+		return exchange.getResponse().setComplete();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,52 @@
+package com.selimhorri.commons.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One RestTemplate or Feign call to another service, up to the response headers.
+ */
+@Name("com.selimhorri.RemoteCall")
+@Label("Remote Call")
+@Description("Call to another service")
+@Category({ "E-Commerce", "Spans" })
+@StackTrace(false)
+public class RemoteCallEvent extends Event {
+	
+	@Label("Target")
+	String target;
+	
+	@Label("Method")
+	String method;
+	
+	@Label("Path")
+	String path;
+	
+	@Label("Outcome")
+	String outcome;
+	
+	public void end(final String target, final String method, final String path, final String outcome) {
+		if (this.shouldCommit()) {
+			this.target = target;
+			this.method = method;
+			this.path = path;
+			this.outcome = outcome;
+			this.commit();
+		}
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
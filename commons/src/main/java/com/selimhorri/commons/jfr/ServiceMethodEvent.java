@@ -0,0 +1,50 @@
+package com.selimhorri.commons.jfr;
+
+import java.lang.reflect.Method;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call of a @Service method. Costs a timestamp per call when no recording is running.
+ */
+@Name("com.selimhorri.ServiceMethod")
+@Label("Service Method")
+@Description("Call of a @Service method")
+@Category({ "E-Commerce", "Spans" })
+@StackTrace(false)
+public class ServiceMethodEvent extends Event {
+	
+	@Label("Class")
+	String className;
+	
+	@Label("Method")
+	String methodName;
+	
+	@Label("Outcome")
+	String outcome;
+	
+	public void end(final Method method, final String outcome) {
+		if (this.shouldCommit()) {
+			this.className = method.getDeclaringClass().getName();
+			this.methodName = method.getName();
+			this.outcome = outcome;
+			this.commit();
+		}
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
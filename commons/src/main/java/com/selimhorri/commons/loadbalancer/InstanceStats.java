@@ -0,0 +1,72 @@
+package com.selimhorri.commons.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Outstanding requests and a peak-sensitive EWMA of response time for one instance.
+ * Latency spikes are taken immediately, recovery is smoothed over the decay window
+ * and also applied on read, so an instance that stopped receiving traffic drifts back into rotation.
+ */
+class InstanceStats {
+	
+	private final long decayNanos;
+	private final AtomicInteger outstanding = new AtomicInteger();
+	private double ewmaNanos;
+	private long stamp;
+	private boolean sampled;
+	
+	InstanceStats(final long decayNanos) {
+		this.decayNanos = decayNanos;
+		this.stamp = System.nanoTime();
+	}
+	
+	void start() {
+		this.outstanding.incrementAndGet();
+	}
+	
+	synchronized void complete(final long rttNanos) {
+		this.outstanding.decrementAndGet();
+		final long now = System.nanoTime();
+		if (!this.sampled || rttNanos > this.ewmaNanos) {
+			this.ewmaNanos = rttNanos;
+			this.sampled = true;
+		}
+		else {
+			final double weight = Math.exp(-(double) (now - this.stamp) / this.decayNanos);
+			this.ewmaNanos = this.ewmaNanos * weight + rttNanos * (1.0 - weight);
+		}
+		this.stamp = now;
+	}
+	
+	int outstanding() {
+		return Math.max(0, this.outstanding.get());
+	}
+	
+	synchronized double latencyNanos() {
+		return this.decayed(System.nanoTime());
+	}
+	
+	double cost(final long penaltyNanos) {
+		final int outstanding = this.outstanding();
+		synchronized (this) {
+			if (!this.sampled)
+				return (double) penaltyNanos * outstanding;
+			return this.decayed(System.nanoTime()) * (outstanding + 1);
+		}
+	}
+	
+	private double decayed(final long now) {
+		return this.ewmaNanos * Math.exp(-(double) Math.max(0L, now - this.stamp) / this.decayNanos);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,110 @@
+package com.selimhorri.commons.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import com.selimhorri.commons.loadbalancer.LatencyAwareLoadBalancerProperties.Strategy;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Picks the instance with the fewest outstanding requests, or the cheaper of two random
+ * instances where cost is peak EWMA latency times outstanding requests (power of two choices).
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+	
+	private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+	private final String serviceId;
+	private final LoadBalancerStats stats;
+	private final Strategy strategy;
+	
+	@Override
+	public Mono<Response<ServiceInstance>> choose(final Request request) {
+		final ServiceInstanceListSupplier supplier = this.serviceInstanceListSupplierProvider
+				.getIfAvailable(NoopServiceInstanceListSupplier::new);
+		// captured here, on the calling thread, the instance list may be emitted elsewhere
+		final LoadBalancerHint hint = LoadBalancerHint.current();
+		return supplier.get(request).next().map(instances -> {
+			final Response<ServiceInstance> response = this.choose(this.candidates(instances, hint));
+			if (hint != null && response.hasServer())
+				hint.chosen(response.getServer());
+			if (supplier instanceof SelectedInstanceCallback && response.hasServer())
+				((SelectedInstanceCallback) supplier).selectedServiceInstance(response.getServer());
+			return response;
+		});
+	}
+	
+	private List<ServiceInstance> candidates(final List<ServiceInstance> instances, final LoadBalancerHint hint) {
+		final ServiceInstance avoided = hint == null ? null : hint.avoided();
+		if (avoided == null || instances.size() < 2)
+			return instances;
+		final List<ServiceInstance> candidates = instances.stream()
+				.filter(instance -> !(instance.getHost().equals(avoided.getHost()) && instance.getPort() == avoided.getPort()))
+				.collect(Collectors.toUnmodifiableList());
+		return candidates.isEmpty() ? instances : candidates;
+	}
+	
+	private Response<ServiceInstance> choose(final List<ServiceInstance> instances) {
+		if (instances.isEmpty()) {
+			log.warn("*** No servers available for service: {} *", this.serviceId);
+			return new EmptyResponse();
+		}
+		if (instances.size() == 1)
+			return new DefaultResponse(instances.get(0));
+		return new DefaultResponse(this.strategy == Strategy.LEAST_OUTSTANDING ?
+				this.leastOutstanding(instances) : this.powerOfTwoChoices(instances));
+	}
+	
+	private ServiceInstance leastOutstanding(final List<ServiceInstance> instances) {
+		// random starting point so ties do not all land on the first instance
+		final int size = instances.size();
+		final int offset = ThreadLocalRandom.current().nextInt(size);
+		ServiceInstance best = null;
+		int bestOutstanding = Integer.MAX_VALUE;
+		for (int i = 0; i < size; i++) {
+			final ServiceInstance candidate = instances.get((offset + i) % size);
+			final int outstanding = this.stats.outstanding(candidate);
+			if (outstanding < bestOutstanding) {
+				best = candidate;
+				bestOutstanding = outstanding;
+			}
+		}
+		return best;
+	}
+	
+	private ServiceInstance powerOfTwoChoices(final List<ServiceInstance> instances) {
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		final int first = random.nextInt(instances.size());
+		final int second = (first + 1 + random.nextInt(instances.size() - 1)) % instances.size();
+		final ServiceInstance a = instances.get(first);
+		final ServiceInstance b = instances.get(second);
+		return this.stats.cost(a) <= this.stats.cost(b) ? a : b;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
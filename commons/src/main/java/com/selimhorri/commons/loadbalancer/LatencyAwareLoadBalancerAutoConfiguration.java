@@ -0,0 +1,36 @@
+package com.selimhorri.commons.loadbalancer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(ReactorServiceInstanceLoadBalancer.class)
+@ConditionalOnProperty(prefix = "app.loadbalancer", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(LatencyAwareLoadBalancerProperties.class)
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerClientConfiguration.class)
+public class LatencyAwareLoadBalancerAutoConfiguration {
+	
+	@Bean
+	public LoadBalancerStats loadBalancerStats(final LatencyAwareLoadBalancerProperties properties,
+			final MeterRegistry meterRegistry) {
+		return new LoadBalancerStats(properties, meterRegistry);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
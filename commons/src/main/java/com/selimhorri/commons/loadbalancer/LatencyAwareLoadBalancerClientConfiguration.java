@@ -0,0 +1,38 @@
+package com.selimhorri.commons.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Registered in each per-service load balancer context, takes precedence over the default round-robin bean.
+ */
+@Configuration(proxyBeanMethods = false)
+public class LatencyAwareLoadBalancerClientConfiguration {
+	
+	@Bean
+	public ReactorLoadBalancer<ServiceInstance> latencyAwareLoadBalancer(final Environment environment,
+			final LoadBalancerClientFactory loadBalancerClientFactory,
+			final LoadBalancerStats loadBalancerStats,
+			final LatencyAwareLoadBalancerProperties properties) {
+		final String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+		return new LatencyAwareLoadBalancer(
+				loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+				serviceId, loadBalancerStats, properties.getStrategy());
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
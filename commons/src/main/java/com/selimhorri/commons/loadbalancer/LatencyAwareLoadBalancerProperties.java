@@ -0,0 +1,33 @@
+package com.selimhorri.commons.loadbalancer;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.loadbalancer")
+public class LatencyAwareLoadBalancerProperties {
+	
+	private boolean enabled = true;
+	private Strategy strategy = Strategy.PEAK_EWMA;
+	private Duration decay = Duration.ofSeconds(10);
+	private Duration failurePenalty = Duration.ofSeconds(1);
+	private Duration idleTimeout = Duration.ofMinutes(10);
+	
+	public enum Strategy {
+		LEAST_OUTSTANDING, PEAK_EWMA
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
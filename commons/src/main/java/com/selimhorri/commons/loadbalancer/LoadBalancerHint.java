@@ -0,0 +1,71 @@
+package com.selimhorri.commons.loadbalancer;
+
+import java.util.function.Supplier;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+/**
+ * Lets related calls made from different threads steer away from each other's instance,
+ * a hedged request should not land on the replica the primary is already waiting on.
+ */
+public final class LoadBalancerHint {
+	
+	private static final ThreadLocal<LoadBalancerHint> CURRENT = new ThreadLocal<>();
+	
+	private final LoadBalancerHint avoid;
+	private volatile ServiceInstance chosen;
+	
+	private LoadBalancerHint(final LoadBalancerHint avoid) {
+		this.avoid = avoid;
+	}
+	
+	public static LoadBalancerHint create() {
+		return new LoadBalancerHint(null);
+	}
+	
+	/**
+	 * A hint for a sibling call that avoids whatever instance this one was routed to.
+	 */
+	public LoadBalancerHint sibling() {
+		return new LoadBalancerHint(this);
+	}
+	
+	public <T> Supplier<T> wrap(final Supplier<T> supplier) {
+		return () -> {
+			final LoadBalancerHint previous = CURRENT.get();
+			CURRENT.set(this);
+			try {
+				return supplier.get();
+			}
+			finally {
+				if (previous == null)
+					CURRENT.remove();
+				else
+					CURRENT.set(previous);
+			}
+		};
+	}
+	
+	static LoadBalancerHint current() {
+		return CURRENT.get();
+	}
+	
+	ServiceInstance avoided() {
+		return this.avoid == null ? null : this.avoid.chosen;
+	}
+	
+	void chosen(final ServiceInstance instance) {
+		this.chosen = instance;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,129 @@
+package com.selimhorri.commons.loadbalancer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Feeds {@link InstanceStats} from the load balancer lifecycle, which the gateway filter,
+ * the {@code @LoadBalanced} RestTemplate interceptor and the Feign client all drive.
+ * Registered once in the application context so every per-service child context shares it.
+ */
+public class LoadBalancerStats implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+	
+	private final long decayNanos;
+	private final long penaltyNanos;
+	private final MeterRegistry meterRegistry;
+	private final Cache<String, InstanceStats> stats;
+	
+	public LoadBalancerStats(final LatencyAwareLoadBalancerProperties properties, final MeterRegistry meterRegistry) {
+		this.decayNanos = properties.getDecay().toNanos();
+		this.penaltyNanos = properties.getFailurePenalty().toNanos();
+		this.meterRegistry = meterRegistry;
+		this.stats = Caffeine.newBuilder()
+				.expireAfterAccess(properties.getIdleTimeout().toNanos(), TimeUnit.NANOSECONDS)
+				.<String, InstanceStats>removalListener((key, value, cause) -> this.unregister(key))
+				.build();
+	}
+	
+	@Override
+	public boolean supports(final Class requestContextClass, final Class responseClass, final Class serverTypeClass) {
+		return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+	}
+	
+	@Override
+	public void onStart(final Request<Object> request) {
+		
+	}
+	
+	@Override
+	public void onStartRequest(final Request<Object> request, final Response<ServiceInstance> lbResponse) {
+		if (request.getContext() instanceof TimedRequestContext)
+			((TimedRequestContext) request.getContext()).setRequestStartTime(System.nanoTime());
+		if (lbResponse != null && lbResponse.hasServer())
+			this.stats(lbResponse.getServer()).start();
+	}
+	
+	@Override
+	public void onComplete(final CompletionContext<Object, ServiceInstance, Object> completionContext) {
+		
+		final Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+		if (completionContext.status() == CompletionContext.Status.DISCARD
+				|| lbResponse == null || !lbResponse.hasServer()
+				|| !(completionContext.getLoadBalancerRequest().getContext() instanceof TimedRequestContext))
+			return;
+		
+		final long start = ((TimedRequestContext) completionContext.getLoadBalancerRequest().getContext()).getRequestStartTime();
+		final long rtt = System.nanoTime() - start;
+		this.stats(lbResponse.getServer()).complete(this.failed(completionContext) ? Math.max(rtt, this.penaltyNanos) : rtt);
+	}
+	
+	double cost(final ServiceInstance instance) {
+		return this.stats(instance).cost(this.penaltyNanos);
+	}
+	
+	int outstanding(final ServiceInstance instance) {
+		return this.stats(instance).outstanding();
+	}
+	
+	private boolean failed(final CompletionContext<Object, ServiceInstance, Object> completionContext) {
+		if (completionContext.status() == CompletionContext.Status.FAILED)
+			return true;
+		final Object clientResponse = completionContext.getClientResponse();
+		return clientResponse instanceof ResponseData
+				&& ((ResponseData) clientResponse).getHttpStatus() != null
+				&& ((ResponseData) clientResponse).getHttpStatus().is5xxServerError();
+	}
+	
+	private InstanceStats stats(final ServiceInstance instance) {
+		return this.stats.get(key(instance), key -> this.register(instance, new InstanceStats(this.decayNanos)));
+	}
+	
+	private InstanceStats register(final ServiceInstance instance, final InstanceStats instanceStats) {
+		final Tags tags = Tags.of("service", String.valueOf(instance.getServiceId()),
+				"instance", instance.getHost() + ":" + instance.getPort());
+		Gauge.builder("loadbalancer.instance.outstanding", instanceStats, InstanceStats::outstanding)
+				.tags(tags)
+				.register(this.meterRegistry);
+		Gauge.builder("loadbalancer.instance.latency", instanceStats, s -> s.latencyNanos() / TimeUnit.SECONDS.toNanos(1L))
+				.tags(tags)
+				.baseUnit("seconds")
+				.register(this.meterRegistry);
+		return instanceStats;
+	}
+	
+	private void unregister(final String key) {
+		final int separator = key.indexOf('/');
+		final Tags tags = Tags.of("service", key.substring(0, separator), "instance", key.substring(separator + 1));
+		this.meterRegistry.find("loadbalancer.instance.outstanding").tags(tags).meters().forEach(this.meterRegistry::remove);
+		this.meterRegistry.find("loadbalancer.instance.latency").tags(tags).meters().forEach(this.meterRegistry::remove);
+	}
+	
+	private static String key(final ServiceInstance instance) {
+		return instance.getServiceId() + "/" + instance.getHost() + ":" + instance.getPort();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
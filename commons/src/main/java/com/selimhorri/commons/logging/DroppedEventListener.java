@@ -0,0 +1,60 @@
+package com.selimhorri.commons.logging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.logstash.logback.appender.listener.AppenderListener;
+
+/**
+ * Counts events the async appender dropped because its ring buffer was full. Logback creates it from
+ * logback-async.xml before Spring starts, so the counts are static and bound to the registry afterwards.
+ */
+public class DroppedEventListener implements AppenderListener<ILoggingEvent> {
+	
+	private static final Map<String, LongAdder> DROPPED = new ConcurrentHashMap<>();
+	
+	@Override
+	public void appenderStarted(final Appender<ILoggingEvent> appender) {
+		DROPPED.computeIfAbsent(appender.getName(), name -> new LongAdder());
+	}
+	
+	@Override
+	public void appenderStopped(final Appender<ILoggingEvent> appender) {
+		
+	}
+	
+	@Override
+	public void eventAppended(final Appender<ILoggingEvent> appender, final ILoggingEvent event,
+			final long durationInNanos) {
+		
+	}
+	
+	@Override
+	public void eventAppendFailed(final Appender<ILoggingEvent> appender, final ILoggingEvent event,
+			final Throwable reason) {
+		DROPPED.computeIfAbsent(appender.getName(), name -> new LongAdder()).increment();
+	}
+	
+	static void bindTo(final MeterRegistry registry) {
+		DROPPED.forEach((appender, dropped) -> FunctionCounter.builder("logging.events.dropped", dropped, LongAdder::sum)
+				.description("Log events dropped by an async appender with a full ring buffer")
+				.tag("appender", appender)
+				.register(registry));
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
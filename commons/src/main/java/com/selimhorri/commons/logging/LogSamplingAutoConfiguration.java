@@ -0,0 +1,89 @@
+package com.selimhorri.commons.logging;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-logger sampling (app.logging.sampling) and the counters of the logging pipeline. The async appender
+ * itself is set up by logging.config=classpath:logback-async.xml.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(LoggerContext.class)
+@EnableConfigurationProperties(LogSamplingProperties.class)
+public class LogSamplingAutoConfiguration {
+	
+	@Bean
+	public LogSampling logSampling(final LogSamplingProperties properties) {
+		return new LogSampling(properties);
+	}
+	
+	@Bean
+	@ConditionalOnClass(name = "net.logstash.logback.appender.listener.AppenderListener")
+	public MeterBinder droppedLogEventsMeterBinder() {
+		return DroppedEventListener::bindTo;
+	}
+	
+	/**
+	 * Installs the turbo filter on the logback context for the application's lifetime.
+	 */
+	@Slf4j
+	@RequiredArgsConstructor
+	public static class LogSampling implements InitializingBean, DisposableBean, MeterBinder {
+		
+		private final LogSamplingProperties properties;
+		private SamplingTurboFilter filter;
+		
+		@Override
+		public void afterPropertiesSet() {
+			if (this.properties.getSampling().isEmpty() || !(LoggerFactory.getILoggerFactory() instanceof LoggerContext))
+				return;
+			this.filter = new SamplingTurboFilter(this.properties.getSampling(),
+					Level.toLevel(this.properties.getSampledLevel().name()));
+			this.filter.start();
+			((LoggerContext) LoggerFactory.getILoggerFactory()).addTurboFilter(this.filter);
+			log.info("*** Sampling {} and below at {} *", this.properties.getSampledLevel(),
+					this.properties.getSampling());
+		}
+		
+		@Override
+		public void bindTo(final MeterRegistry registry) {
+			if (this.filter != null)
+				FunctionCounter.builder("logging.events.sampled.out", this.filter, SamplingTurboFilter::getSampledOut)
+						.description("Log events skipped by app.logging.sampling")
+						.register(registry);
+		}
+		
+		@Override
+		public void destroy() {
+			if (this.filter != null) {
+				((LoggerContext) LoggerFactory.getILoggerFactory()).getTurboFilterList().remove(this.filter);
+				this.filter.stop();
+			}
+		}
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
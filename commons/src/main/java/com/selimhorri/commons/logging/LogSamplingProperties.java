@@ -0,0 +1,36 @@
+package com.selimhorri.commons.logging;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.logging.LogLevel;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.logging")
+public class LogSamplingProperties {
+	
+	/**
+	 * Share of the events kept per logger name prefix, e.g. "[com.selimhorri.app.resource]": 0.1. The longest
+	 * matching prefix applies, loggers matching none are not sampled.
+	 */
+	private Map<String, Float> sampling = new LinkedHashMap<>();
+	
+	/**
+	 * Events at this level or below are sampled, anything more severe is always logged.
+	 */
+	private LogLevel sampledLevel = LogLevel.INFO;
+	
+}
+
+
+
+
+
+
+
+
+
+
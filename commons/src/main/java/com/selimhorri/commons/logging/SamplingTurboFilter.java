@@ -0,0 +1,91 @@
+package com.selimhorri.commons.logging;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Lets through only a share of the events at or below a level for the configured logger prefixes, decided before
+ * the event is even built. Sampling goes by trace id when there is one, so a request keeps all of its lines or
+ * none, in every service.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+	
+	private static final long BUCKETS = 10_000L;
+	
+	private final List<Map.Entry<String, Float>> rates;
+	private final int sampledLevel;
+	private final Map<String, Long> thresholds = new ConcurrentHashMap<>();
+	private final LongAdder sampledOut = new LongAdder();
+	
+	public SamplingTurboFilter(final Map<String, Float> rates, final Level sampledLevel) {
+		// Longest prefix first so the most specific rate wins
+		this.rates = rates.entrySet().stream()
+				.sorted(Comparator.comparingInt((Map.Entry<String, Float> entry) -> entry.getKey().length()).reversed())
+				.map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+				.collect(Collectors.toUnmodifiableList());
+		this.sampledLevel = sampledLevel.toInt();
+		this.setName("sampling");
+	}
+	
+	@Override
+	public FilterReply decide(final Marker marker, final Logger logger, final Level level, final String format,
+			final Object[] params, final Throwable t) {
+		
+		// format is null for isXxxEnabled() checks, which must stay cheap and consistent
+		if (format == null || level.toInt() > this.sampledLevel || !level.isGreaterOrEqual(logger.getEffectiveLevel()))
+			return FilterReply.NEUTRAL;
+		final long threshold = this.thresholds.computeIfAbsent(logger.getName(), this::threshold);
+		if (threshold >= BUCKETS || bucket() < threshold)
+			return FilterReply.NEUTRAL;
+		this.sampledOut.increment();
+		return FilterReply.DENY;
+	}
+	
+	private long threshold(final String loggerName) {
+		return this.rates.stream()
+				.filter(entry -> loggerName.startsWith(entry.getKey()))
+				.findFirst()
+				.map(entry -> (long) (entry.getValue() * BUCKETS))
+				.orElse(BUCKETS);
+	}
+	
+	private static long bucket() {
+		final String traceId = MDC.get("traceId");
+		if (traceId == null || traceId.length() < 16)
+			return ThreadLocalRandom.current().nextLong(BUCKETS);
+		try {
+			return Math.floorMod(Long.parseUnsignedLong(traceId.substring(traceId.length() - 16), 16), BUCKETS);
+		}
+		catch (NumberFormatException e) {
+			return ThreadLocalRandom.current().nextLong(BUCKETS);
+		}
+	}
+	
+	public long getSampledOut() {
+		return this.sampledOut.sum();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,35 @@
+package com.selimhorri.commons.resilience;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of a guarded enrichment lookup, degraded when the value is a snapshot or a stub rather than a live answer.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Enriched<T> {
+	
+	private final T value;
+	private final boolean degraded;
+	
+	static <T> Enriched<T> live(final T value) {
+		return new Enriched<>(value, false);
+	}
+	
+	static <T> Enriched<T> degraded(final T value) {
+		return new Enriched<>(value, true);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,40 @@
+package com.selimhorri.commons.resilience;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.commons.bulkhead.DownstreamBulkheads;
+import com.selimhorri.commons.hedging.Hedger;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@EnableConfigurationProperties(EnrichmentProperties.class)
+public class EnrichmentAutoConfiguration {
+	
+	@Bean
+	public EnrichmentGuard enrichmentGuard(final CircuitBreakerRegistry circuitBreakerRegistry,
+			final DownstreamBulkheads bulkheads,
+			final ObjectProvider<Hedger> hedger,
+			final EnrichmentProperties properties,
+			final MeterRegistry meterRegistry) {
+		return new EnrichmentGuard(circuitBreakerRegistry, bulkheads, hedger, properties, meterRegistry);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
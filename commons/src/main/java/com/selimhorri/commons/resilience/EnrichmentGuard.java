@@ -0,0 +1,160 @@
+package com.selimhorri.commons.resilience;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.commons.bulkhead.BulkheadRejectedException;
+import com.selimhorri.commons.bulkhead.DownstreamBulkheads;
+import com.selimhorri.commons.hedging.Hedger;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs a remote enrichment lookup behind the downstream's circuit breaker and bulkhead. When the call is refused
+ * or the downstream is unavailable, the last value seen for the key is served instead, or the stub when there is none.
+ * Client errors and expired deadlines are not masked.
+ */
+@Slf4j
+public class EnrichmentGuard {
+	
+	private final CircuitBreakerRegistry circuitBreakerRegistry;
+	private final DownstreamBulkheads bulkheads;
+	private final ObjectProvider<Hedger> hedger;
+	private final EnrichmentProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, Cache<Object, Object>> snapshots = new ConcurrentHashMap<>();
+	
+	public EnrichmentGuard(final CircuitBreakerRegistry circuitBreakerRegistry, final DownstreamBulkheads bulkheads,
+			final ObjectProvider<Hedger> hedger, final EnrichmentProperties properties, final MeterRegistry meterRegistry) {
+		this.circuitBreakerRegistry = circuitBreakerRegistry;
+		this.bulkheads = bulkheads;
+		this.hedger = hedger;
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+	}
+	
+	/**
+	 * @param downstream name of the circuit breaker and bulkhead guarding the call
+	 */
+	public <T> Enriched<T> fetch(final String downstream, final Object key, final Supplier<T> call, final Supplier<T> stub) {
+		return this.fetch(downstream, null, key, call, stub);
+	}
+	
+	/**
+	 * Same as {@link #fetch}, hedged against a second instance of the target service, both attempts on the
+	 * downstream's bulkhead.
+	 */
+	public <T> Enriched<T> fetchHedged(final String downstream, final String target, final Object key,
+			final Supplier<T> call, final Supplier<T> stub) {
+		return this.fetch(downstream, target, key, call, stub);
+	}
+	
+	private <T> Enriched<T> fetch(final String downstream, final String target, final Object key, final Supplier<T> call,
+			final Supplier<T> stub) {
+		
+		final CircuitBreaker circuitBreaker = this.circuitBreakerRegistry.circuitBreaker(downstream);
+		final Hedger hedger = target == null ? null : this.hedger.getIfAvailable();
+		try {
+			return this.live(downstream, key, CircuitBreaker.decorateSupplier(circuitBreaker, () -> hedger == null
+					? this.bulkheads.execute(downstream, call)
+					: hedger.execute(target, attempt -> this.bulkheads.submit(downstream, attempt), call)).get());
+		}
+		catch (RuntimeException e) {
+			if (!isUnavailable(e))
+				throw e;
+			return this.fallback(downstream, key, stub, e);
+		}
+	}
+	
+	/**
+	 * Same as {@link #fetch}, without holding the calling thread while the downstream answers.
+	 */
+	public <T> CompletableFuture<Enriched<T>> fetchAsync(final String downstream, final Object key, final Supplier<T> call,
+			final Supplier<T> stub) {
+		return this.fetchAsync(downstream, null, key, call, stub);
+	}
+	
+	/**
+	 * Same as {@link #fetchHedged}, without holding the calling thread while the downstream answers.
+	 */
+	public <T> CompletableFuture<Enriched<T>> fetchHedgedAsync(final String downstream, final String target,
+			final Object key, final Supplier<T> call, final Supplier<T> stub) {
+		return this.fetchAsync(downstream, target, key, call, stub);
+	}
+	
+	private <T> CompletableFuture<Enriched<T>> fetchAsync(final String downstream, final String target, final Object key,
+			final Supplier<T> call, final Supplier<T> stub) {
+		
+		final CircuitBreaker circuitBreaker = this.circuitBreakerRegistry.circuitBreaker(downstream);
+		final Hedger hedger = target == null ? null : this.hedger.getIfAvailable();
+		return circuitBreaker.executeCompletionStage(() -> hedger == null
+						? this.bulkheads.submit(downstream, call)
+						: hedger.submit(target, attempt -> this.bulkheads.submit(downstream, attempt), call))
+				.toCompletableFuture()
+				.handle((value, failure) -> {
+					if (failure == null)
+						return this.live(downstream, key, value);
+					final Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+							? failure.getCause()
+							: failure;
+					if (!isUnavailable(cause))
+						throw failure instanceof CompletionException ? (CompletionException) failure : new CompletionException(failure);
+					return this.fallback(downstream, key, stub, cause);
+				});
+	}
+	
+	private <T> Enriched<T> live(final String downstream, final Object key, final T value) {
+		if (value != null)
+			this.snapshot(downstream).put(key, value);
+		return Enriched.live(value);
+	}
+	
+	@SuppressWarnings("unchecked")
+	private <T> Enriched<T> fallback(final String downstream, final Object key, final Supplier<T> stub, final Throwable cause) {
+		final T last = (T) this.snapshot(downstream).getIfPresent(key);
+		log.warn("*** {} unavailable for key {}, serving {}: {} *", downstream, key,
+				last != null ? "last known value" : "stub", cause.toString());
+		this.meterRegistry.counter("enrichment.fallback",
+				"downstream", downstream, "source", last != null ? "snapshot" : "stub").increment();
+		return Enriched.degraded(last != null ? last : stub.get());
+	}
+	
+	private Cache<Object, Object> snapshot(final String downstream) {
+		return this.snapshots.computeIfAbsent(downstream, name -> Caffeine.newBuilder()
+				.maximumSize(this.properties.getSnapshotMaximumSize())
+				.expireAfterWrite(this.properties.getSnapshotMaximumAge())
+				.build());
+	}
+	
+	private static boolean isUnavailable(final Throwable e) {
+		return e instanceof CallNotPermittedException
+				|| e instanceof BulkheadRejectedException
+				|| e instanceof ResourceAccessException
+				|| e instanceof HttpServerErrorException;
+	}
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
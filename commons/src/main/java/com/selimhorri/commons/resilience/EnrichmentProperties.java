@@ -0,0 +1,29 @@
+package com.selimhorri.commons.resilience;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.enrichment")
+public class EnrichmentProperties {
+	
+	/**
+	 * Last known good values kept per downstream, served while its circuit is open.
+	 */
+	private long snapshotMaximumSize = 10_000L;
+	private Duration snapshotMaximumAge = Duration.ofHours(1);
+	
+}
+
+
+
+
+
+
+
+
+
+
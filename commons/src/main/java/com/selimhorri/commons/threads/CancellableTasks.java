@@ -0,0 +1,54 @@
+package com.selimhorri.commons.threads;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * CompletableFuture.supplyAsync that interrupts its task once the future is completed from outside (cancelled,
+ * timed out), so a call nobody waits for anymore frees its pool thread instead of running to its read timeout.
+ */
+public final class CancellableTasks {
+	
+	private CancellableTasks() {
+		
+	}
+	
+	/**
+	 * @throws java.util.concurrent.RejectedExecutionException when the executor is full, like supplyAsync
+	 */
+	public static <T> CompletableFuture<T> supplyAsync(final Supplier<T> supplier, final ExecutorService executor) {
+		final CompletableFuture<T> future = new CompletableFuture<>();
+		final AtomicBoolean finished = new AtomicBoolean();
+		final Future<?> running = executor.submit(() -> {
+			try {
+				final T value = supplier.get();
+				finished.set(true);
+				future.complete(value);
+			}
+			catch (Throwable e) {
+				finished.set(true);
+				future.completeExceptionally(e);
+			}
+		});
+		// completed from outside (cancelled, timed out) while the task still runs
+		future.whenComplete((ignored, failure) -> {
+			if (!finished.get())
+				running.cancel(true);
+		});
+		return future;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,83 @@
+package com.selimhorri.commons.threads;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.EventSettings;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams jdk.VirtualThreadPinned events in-process, a virtual thread blocking while pinned to its carrier
+ * (inside synchronized or a native frame) holds a platform thread and undoes the point of the mode.
+ * The JFR streaming API is Java 14+, so it is reached reflectively like the rest of this package.
+ */
+@Slf4j
+public class PinnedVirtualThreadMonitor implements InitializingBean, DisposableBean {
+	
+	private static final String EVENT = "jdk.VirtualThreadPinned";
+	
+	private final Duration threshold;
+	private final Timer pinned;
+	private AutoCloseable stream;
+	
+	public PinnedVirtualThreadMonitor(final Duration threshold, final MeterRegistry meterRegistry) {
+		this.threshold = threshold;
+		this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+				.description("Virtual threads that blocked while pinned to their carrier thread")
+				.register(meterRegistry);
+	}
+	
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		final Class<?> type = Class.forName("jdk.jfr.consumer.RecordingStream");
+		final Object stream = type.getConstructor().newInstance();
+		final EventSettings settings = (EventSettings) type.getMethod("enable", String.class).invoke(stream, EVENT);
+		settings.withThreshold(this.threshold).withStackTrace();
+		final Consumer<RecordedEvent> handler = this::onPinned;
+		type.getMethod("onEvent", String.class, Consumer.class).invoke(stream, EVENT, handler);
+		type.getMethod("startAsync").invoke(stream);
+		this.stream = (AutoCloseable) stream;
+		log.info("*** Watching for virtual threads pinned longer than {} *", this.threshold);
+	}
+	
+	private void onPinned(final RecordedEvent event) {
+		this.pinned.record(event.getDuration());
+		log.warn("*** Virtual thread pinned for {} ms at {} *", event.getDuration().toMillis(), topFrame(event));
+	}
+	
+	private static String topFrame(final RecordedEvent event) {
+		if (event.getStackTrace() == null)
+			return "unknown";
+		return event.getStackTrace().getFrames().stream()
+				.filter(RecordedFrame::isJavaFrame)
+				.filter(frame -> !frame.getMethod().getType().getName().startsWith("java."))
+				.findFirst()
+				.map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+						+ ":" + frame.getLineNumber())
+				.orElse("unknown");
+	}
+	
+	@Override
+	public void destroy() throws Exception {
+		if (this.stream != null)
+			this.stream.close();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,44 @@
+package com.selimhorri.commons.threads;
+
+import java.util.function.Supplier;
+
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.lang.Nullable;
+
+import com.selimhorri.commons.cost.RequestCost;
+import com.selimhorri.commons.deadline.Deadline;
+
+/**
+ * Carries the current request's deadline, cost and span over to work another thread starts later, such as the
+ * next lookup of a fan-out or a hedge started from a timer. Pools only carry them for work submitted in-request.
+ */
+public final class RequestContext {
+	
+	private RequestContext() {
+		
+	}
+	
+	public static <T> Supplier<T> wrap(@Nullable final Tracer tracer, final Supplier<T> supplier) {
+		final Supplier<T> task = Deadline.wrap(RequestCost.wrap(supplier));
+		final Span span = tracer == null ? null : tracer.currentSpan();
+		if (span == null)
+			return task;
+		return () -> {
+			try (final Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+				return task.get();
+			}
+		};
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,87 @@
+package com.selimhorri.commons.threads;
+
+import org.apache.catalina.util.ServerInfo;
+import org.apache.coyote.ProtocolHandler;
+import org.apache.tomcat.util.net.SocketWrapperBase;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(VirtualThreadProperties.class)
+public class VirtualThreadAutoConfiguration {
+	
+	@Bean
+	public WorkerThreads workerThreads(final VirtualThreadProperties properties) {
+		return new WorkerThreads(properties.isEnabled());
+	}
+	
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnProperty(prefix = "app.virtual-threads", name = "enabled")
+	static class VirtualThreadModeConfiguration {
+		
+		@Bean
+		public PinnedVirtualThreadMonitor pinnedVirtualThreadMonitor(final VirtualThreadProperties properties,
+				final MeterRegistry meterRegistry) {
+			return new PinnedVirtualThreadMonitor(properties.getPinnedThreshold(), meterRegistry);
+		}
+		
+	}
+	
+	@Slf4j
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnProperty(prefix = "app.virtual-threads", name = "enabled")
+	@ConditionalOnWebApplication(type = Type.SERVLET)
+	@ConditionalOnClass(name = "org.apache.coyote.ProtocolHandler")
+	static class TomcatVirtualThreadConfiguration {
+		
+		/**
+		 * One virtual thread per request in place of the fixed worker pool, server.tomcat.threads.max no longer
+		 * applies and concurrency is bounded by server.tomcat.max-connections and the downstream pools.
+		 */
+		@Bean
+		public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+			requireLockedSocketWrapper();
+			return protocolHandler -> {
+				log.info("*** Tomcat requests handled on virtual threads *");
+				protocolHandler.setExecutor(VirtualThreads.newThreadPerTaskExecutor("tomcat-handler-"));
+			};
+		}
+		
+		/**
+		 * Tomcat 9.0.55 (Boot 2.5's default) runs the whole request inside synchronized (socketWrapper), every handler
+		 * stays pinned to its carrier and once they block on the downstream pools nothing is left to run those.
+		 * Later releases lock through SocketWrapperBase.getLock() instead.
+		 */
+		private static void requireLockedSocketWrapper() {
+			try {
+				SocketWrapperBase.class.getMethod("getLock");
+			}
+			catch (NoSuchMethodException e) {
+				throw new IllegalStateException(String.format(
+						"app.virtual-threads.enabled needs Tomcat 9.0.83 or later, this is %s: build with -Pvirtual-threads",
+						ServerInfo.getServerNumber()));
+			}
+		}
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,33 @@
+package com.selimhorri.commons.threads;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.virtual-threads")
+public class VirtualThreadProperties {
+	
+	/**
+	 * Run Tomcat request handling and the worker pools on virtual threads, requires Java 21.
+	 */
+	private boolean enabled = false;
+	
+	/**
+	 * Pinned sections at least this long are counted and logged.
+	 */
+	private Duration pinnedThreshold = Duration.ofMillis(20);
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,94 @@
+package com.selimhorri.commons.threads;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual thread factories looked up reflectively, the code base still compiles and runs on Java 11
+ * while the virtual-threads mode needs a Java 21 runtime.
+ */
+public final class VirtualThreads {
+	
+	private static final MethodHandle OF_VIRTUAL;
+	private static final MethodHandle NAME;
+	private static final MethodHandle FACTORY;
+	private static final MethodHandle THREAD_PER_TASK_EXECUTOR;
+	
+	static {
+		MethodHandle ofVirtual = null;
+		MethodHandle name = null;
+		MethodHandle factory = null;
+		MethodHandle threadPerTaskExecutor = null;
+		try {
+			final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			final Class<?> builder = Class.forName("java.lang.Thread$Builder");
+			ofVirtual = lookup.findStatic(Thread.class, "ofVirtual",
+					MethodType.methodType(Class.forName("java.lang.Thread$Builder$OfVirtual")));
+			name = lookup.findVirtual(builder, "name", MethodType.methodType(builder, String.class, long.class));
+			factory = lookup.findVirtual(builder, "factory", MethodType.methodType(ThreadFactory.class));
+			threadPerTaskExecutor = lookup.findStatic(Executors.class, "newThreadPerTaskExecutor",
+					MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+		}
+		catch (ReflectiveOperationException e) {
+			ofVirtual = null;
+		}
+		OF_VIRTUAL = ofVirtual;
+		NAME = name;
+		FACTORY = factory;
+		THREAD_PER_TASK_EXECUTOR = threadPerTaskExecutor;
+	}
+	
+	private VirtualThreads() {
+	}
+	
+	public static boolean isSupported() {
+		return OF_VIRTUAL != null;
+	}
+	
+	/**
+	 * Factory for virtual threads named prefix0, prefix1, ...
+	 */
+	public static ThreadFactory factory(final String prefix) {
+		requireSupported();
+		try {
+			return (ThreadFactory) FACTORY.invoke(NAME.invoke(OF_VIRTUAL.invoke(), prefix, 0L));
+		}
+		catch (Throwable e) {
+			throw new IllegalStateException("Could not create a virtual thread factory", e);
+		}
+	}
+	
+	/**
+	 * Unbounded executor starting one virtual thread per task.
+	 */
+	public static ExecutorService newThreadPerTaskExecutor(final String prefix) {
+		final ThreadFactory threadFactory = factory(prefix);
+		try {
+			return (ExecutorService) THREAD_PER_TASK_EXECUTOR.invoke(threadFactory);
+		}
+		catch (Throwable e) {
+			throw new IllegalStateException("Could not create a virtual thread executor", e);
+		}
+	}
+	
+	static void requireSupported() {
+		if (!isSupported())
+			throw new IllegalStateException(String.format(
+					"Virtual threads need Java 21 or newer, this JVM is %s", Runtime.version()));
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
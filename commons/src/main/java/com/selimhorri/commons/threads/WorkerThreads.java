@@ -0,0 +1,39 @@
+package com.selimhorri.commons.threads;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Thread factories for the blocking worker pools (bulkheads, fan-out), virtual when
+ * app.virtual-threads.enabled is set. The pools keep their bounds either way, only the threads change.
+ */
+public class WorkerThreads {
+	
+	private final boolean virtual;
+	
+	public WorkerThreads(final boolean virtual) {
+		if (virtual)
+			VirtualThreads.requireSupported();
+		this.virtual = virtual;
+	}
+	
+	public ThreadFactory factory(final String prefix) {
+		return this.virtual ? VirtualThreads.factory(prefix) : new CustomizableThreadFactory(prefix);
+	}
+	
+	public boolean isVirtual() {
+		return this.virtual;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
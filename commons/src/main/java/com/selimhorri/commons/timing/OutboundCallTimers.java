@@ -0,0 +1,88 @@
+package com.selimhorri.commons.timing;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.Value;
+
+/**
+ * outbound.calls per downstream (the logical service id, before load balancing), method, uri template and outcome.
+ * The services build their URLs by concatenation, so ids in the path are folded into {id} here.
+ */
+public class OutboundCallTimers {
+	
+	public static final String METRIC = "outbound.calls";
+	
+	private final Timers<Call> timers;
+	
+	public OutboundCallTimers(final TimingProperties properties, final MeterRegistry meterRegistry) {
+		this.timers = new Timers<>(METRIC, "Latency of calls to other services", properties, meterRegistry,
+				call -> Tags.of("target", call.target, "method", call.method, "uri", call.uri, "outcome", call.outcome));
+	}
+	
+	public void record(final String target, final String method, final String path, final String outcome,
+			final long nanos) {
+		this.timers.get(new Call(target == null ? "none" : target, method, uriTemplate(path), outcome))
+				.record(nanos, TimeUnit.NANOSECONDS);
+	}
+	
+	/**
+	 * /order-service/api/orders/42 becomes /order-service/api/orders/{id}, numeric and long hex or UUID
+	 * segments count as ids. The path is returned as-is, without copying, when it holds none.
+	 */
+	static String uriTemplate(final String path) {
+		if (path == null || path.isEmpty())
+			return "/";
+		StringBuilder template = null;
+		int start = 0;
+		while (start < path.length()) {
+			int end = path.indexOf('/', start);
+			if (end < 0)
+				end = path.length();
+			if (isId(path, start, end)) {
+				if (template == null)
+					template = new StringBuilder(path.length()).append(path, 0, start);
+				template.append("{id}");
+			}
+			else if (template != null)
+				template.append(path, start, end);
+			if (end < path.length() && template != null)
+				template.append('/');
+			start = end + 1;
+		}
+		return template == null ? path : template.toString();
+	}
+	
+	private static boolean isId(final String path, final int start, final int end) {
+		if (start == end)
+			return false;
+		boolean digits = true;
+		boolean hex = end - start >= 16;
+		for (int i = start; i < end; i++) {
+			final char c = path.charAt(i);
+			digits &= c >= '0' && c <= '9';
+			hex &= Character.digit(c, 16) >= 0 || c == '-';
+		}
+		return digits || hex;
+	}
+	
+	@Value
+	private static class Call {
+		String target;
+		String method;
+		String uri;
+		String outcome;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
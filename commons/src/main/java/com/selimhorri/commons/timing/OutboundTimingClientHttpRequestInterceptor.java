@@ -0,0 +1,54 @@
+package com.selimhorri.commons.timing;
+
+import java.io.IOException;
+
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.selimhorri.commons.jfr.RemoteCallEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Times RestTemplate calls up to the response headers, it sits ahead of the load balancer interceptor so the
+ * target is the service id (e.g. ORDER-SERVICE) rather than an instance address.
+ */
+@RequiredArgsConstructor
+public class OutboundTimingClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+	
+	private final OutboundCallTimers timers;
+	
+	@Override
+	public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+			final ClientHttpRequestExecution execution) throws IOException {
+		
+		final RemoteCallEvent event = new RemoteCallEvent();
+		event.begin();
+		final long start = System.nanoTime();
+		String outcome = Outcome.UNKNOWN.name();
+		try {
+			final ClientHttpResponse response = execution.execute(request, body);
+			outcome = Outcome.forStatus(response.getRawStatusCode()).name();
+			return response;
+		}
+		finally {
+			this.timers.record(request.getURI().getHost(), request.getMethodValue(), request.getURI().getRawPath(),
+					outcome, System.nanoTime() - start);
+			event.end(request.getURI().getHost(), request.getMethodValue(), request.getURI().getRawPath(), outcome);
+		}
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
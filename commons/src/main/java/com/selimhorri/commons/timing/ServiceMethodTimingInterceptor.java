@@ -0,0 +1,83 @@
+package com.selimhorri.commons.timing;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.function.SingletonSupplier;
+
+import com.selimhorri.commons.jfr.ServiceMethodEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Records service.method per class and method, with the outcome. Async methods are timed until their
+ * future completes rather than until they return it. Each call is also a ServiceMethodEvent for JFR recordings.
+ */
+public class ServiceMethodTimingInterceptor implements MethodInterceptor {
+	
+	public static final String METRIC = "service.method";
+	
+	private final SingletonSupplier<Timers<Method>> succeeded;
+	private final SingletonSupplier<Timers<Method>> failed;
+	
+	/**
+	 * Registry and properties are resolved on the first call, this runs inside a bean post-processor.
+	 */
+	public ServiceMethodTimingInterceptor(final ObjectProvider<TimingProperties> properties,
+			final ObjectProvider<MeterRegistry> meterRegistry) {
+		this.succeeded = SingletonSupplier.of(() -> timers(properties.getObject(), meterRegistry.getObject(), "SUCCESS"));
+		this.failed = SingletonSupplier.of(() -> timers(properties.getObject(), meterRegistry.getObject(), "ERROR"));
+	}
+	
+	private static Timers<Method> timers(final TimingProperties properties, final MeterRegistry meterRegistry,
+			final String outcome) {
+		return new Timers<>(METRIC, "Latency of service methods", properties, meterRegistry,
+				method -> Tags.of("class", method.getDeclaringClass().getSimpleName(),
+						"method", method.getName(), "outcome", outcome));
+	}
+	
+	@Override
+	public Object invoke(final MethodInvocation invocation) throws Throwable {
+		
+		final ServiceMethodEvent event = new ServiceMethodEvent();
+		event.begin();
+		final long start = System.nanoTime();
+		final Object result;
+		try {
+			result = invocation.proceed();
+		}
+		catch (Throwable e) {
+			this.record(this.failed, invocation.getMethod(), start, event);
+			throw e;
+		}
+		
+		if (result instanceof CompletionStage)
+			((CompletionStage<?>) result).whenComplete((value, failure) ->
+					this.record(failure == null ? this.succeeded : this.failed, invocation.getMethod(), start, event));
+		else
+			this.record(this.succeeded, invocation.getMethod(), start, event);
+		return result;
+	}
+	
+	private void record(final SingletonSupplier<Timers<Method>> timers, final Method method, final long start,
+			final ServiceMethodEvent event) {
+		timers.obtain().get(method).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		event.end(method, timers == this.succeeded ? "SUCCESS" : "ERROR");
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,55 @@
+package com.selimhorri.commons.timing;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Adds {@link ServiceMethodTimingInterceptor} to every @Service bean, in front of the transaction advice when
+ * the bean is already proxied, so the commit is part of the recorded time.
+ */
+public class TimedServiceBeanPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public TimedServiceBeanPostProcessor(final ObjectProvider<TimingProperties> properties,
+			final ObjectProvider<MeterRegistry> meterRegistry) {
+		this.advisor = new DefaultPointcutAdvisor(new ServicePointcut(),
+				new ServiceMethodTimingInterceptor(properties, meterRegistry));
+		this.setBeforeExistingAdvisors(true);
+		// same as Spring Boot's own proxies, beans stay injectable by class
+		this.setProxyTargetClass(true);
+	}
+	
+	private static final class ServicePointcut extends StaticMethodMatcherPointcut {
+		
+		private ServicePointcut() {
+			this.setClassFilter(type -> AnnotatedElementUtils.hasAnnotation(type, Service.class));
+		}
+		
+		@Override
+		public boolean matches(final Method method, final Class<?> targetClass) {
+			return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+		}
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,48 @@
+package com.selimhorri.commons.timing;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Timers built once per tag combination and then looked up by a plain key, registering a timer on
+ * every call would allocate a builder and a meter id each time.
+ */
+class Timers<K> {
+	
+	private final ConcurrentMap<K, Timer> timers = new ConcurrentHashMap<>();
+	private final Function<K, Timer> factory;
+	
+	Timers(final String name, final String description, final TimingProperties properties,
+			final MeterRegistry meterRegistry, final Function<K, Tags> tags) {
+		this.factory = key -> Timer.builder(name)
+				.description(description)
+				.tags(tags.apply(key))
+				.publishPercentileHistogram()
+				.serviceLevelObjectives(properties.getSlos().toArray(Duration[]::new))
+				.minimumExpectedValue(properties.getMinimumExpectedValue())
+				.maximumExpectedValue(properties.getMaximumExpectedValue())
+				.register(meterRegistry);
+	}
+	
+	Timer get(final K key) {
+		final Timer timer = this.timers.get(key);
+		return timer != null ? timer : this.timers.computeIfAbsent(key, this.factory);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,79 @@
+package com.selimhorri.commons.timing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.timing", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(TimingProperties.class)
+public class TimingAutoConfiguration {
+	
+	@Bean
+	public static TimedServiceBeanPostProcessor timedServiceBeanPostProcessor(
+			final ObjectProvider<TimingProperties> properties, final ObjectProvider<MeterRegistry> meterRegistry) {
+		return new TimedServiceBeanPostProcessor(properties, meterRegistry);
+	}
+	
+	@Bean
+	public OutboundCallTimers outboundCallTimers(final TimingProperties properties, final MeterRegistry meterRegistry) {
+		return new OutboundCallTimers(properties, meterRegistry);
+	}
+	
+	/**
+	 * Last line against a caller that puts free text in its paths.
+	 */
+	@Bean
+	public MeterFilter outboundUriTagLimit(final TimingProperties properties) {
+		return MeterFilter.maximumAllowableTags(OutboundCallTimers.METRIC, "uri", properties.getMaxUriTags(),
+				MeterFilter.deny());
+	}
+	
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(RestTemplate.class)
+	static class RestTemplateTimingConfiguration {
+		
+		@Bean
+		public static BeanPostProcessor outboundTimingRestTemplatePostProcessor(
+				final ObjectProvider<OutboundCallTimers> timers) {
+			return new BeanPostProcessor() {
+				
+				@Override
+				public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+					if (bean instanceof RestTemplate) {
+						final RestTemplate restTemplate = (RestTemplate) bean;
+						final List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>(restTemplate.getInterceptors());
+						interceptors.add(new OutboundTimingClientHttpRequestInterceptor(timers.getObject()));
+						restTemplate.setInterceptors(interceptors);
+					}
+					return bean;
+				}
+				
+			};
+		}
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
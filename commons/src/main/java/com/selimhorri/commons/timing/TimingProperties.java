@@ -0,0 +1,48 @@
+package com.selimhorri.commons.timing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.timing")
+public class TimingProperties {
+	
+	/**
+	 * Time every @Service method (service.method) and every outbound RestTemplate/Feign call (outbound.calls).
+	 */
+	private boolean enabled = true;
+	
+	/**
+	 * Extra histogram buckets at these latencies, so SLO compliance is exact rather than interpolated.
+	 */
+	private List<Duration> slos = new ArrayList<>(List.of(Duration.ofMillis(10), Duration.ofMillis(50),
+			Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1),
+			Duration.ofSeconds(2), Duration.ofSeconds(5)));
+	
+	/**
+	 * Range of the percentile histogram buckets, narrower means fewer time series.
+	 */
+	private Duration minimumExpectedValue = Duration.ofMillis(1);
+	private Duration maximumExpectedValue = Duration.ofSeconds(10);
+	
+	/**
+	 * Distinct outbound uri templates kept per meter, past that new ones are not recorded.
+	 */
+	private int maxUriTags = 100;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,69 @@
+package com.selimhorri.commons.tracing;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import brave.sampler.Sampler;
+import lombok.extern.slf4j.Slf4j;
+import zipkin2.reporter.brave.ZipkinSpanHandler;
+
+/**
+ * Tail-based sampling in front of the Zipkin reporter, see {@link TailSamplingSpanHandler}. Head sampling is
+ * switched to always so every trace is recorded locally, the export decision moves to the end of the trace.
+ * Every service in the call path needs it on, a caller still head sampling passes its own decision down.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass({ Sampler.class, ZipkinSpanHandler.class })
+@ConditionalOnProperty(prefix = "app.tracing.tail-sampling", name = "enabled")
+@AutoConfigureBefore(name = "org.springframework.cloud.sleuth.autoconfig.brave.BraveAutoConfiguration")
+@EnableConfigurationProperties(TailSamplingProperties.class)
+public class TailSamplingAutoConfiguration {
+	
+	@Bean
+	@ConditionalOnProperty(value = "spring.zipkin.enabled", matchIfMissing = true)
+	public Sampler tailSamplingHeadSampler() {
+		return Sampler.ALWAYS_SAMPLE;
+	}
+	
+	@Bean
+	public TailSamplingStats tailSamplingStats() {
+		return new TailSamplingStats();
+	}
+	
+	@Bean
+	public static BeanPostProcessor tailSamplingSpanHandlerPostProcessor(
+			final ObjectProvider<TailSamplingProperties> properties, final ObjectProvider<TailSamplingStats> stats) {
+		return new BeanPostProcessor() {
+			
+			@Override
+			public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+				if (bean instanceof ZipkinSpanHandler) {
+					final TailSamplingProperties tailSampling = properties.getObject();
+					log.info("*** Tail sampling Zipkin spans, slower than {} or failed, baseline {} *",
+							tailSampling.getLatencyThreshold(), tailSampling.getBaseline());
+					return new TailSamplingSpanHandler((ZipkinSpanHandler) bean, tailSampling, stats.getObject());
+				}
+				return bean;
+			}
+			
+		};
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,50 @@
+package com.selimhorri.commons.tracing;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.tracing.tail-sampling")
+public class TailSamplingProperties {
+	
+	/**
+	 * Record every trace and decide what goes to Zipkin once the local root span ends, in place of
+	 * spring.sleuth.sampler.*.
+	 */
+	private boolean enabled = false;
+	
+	/**
+	 * Traces whose local root takes at least this long are exported.
+	 */
+	private Duration latencyThreshold = Duration.ofMillis(500);
+	
+	/**
+	 * Share of the remaining fast and successful traces exported anyway. Chosen from the trace id, so every
+	 * service keeps the same ones.
+	 */
+	private float baseline = 0.01F;
+	
+	/**
+	 * Spans held while their trace is still open, across all traces. Further spans are dropped.
+	 */
+	private int maxBufferedSpans = 20_000;
+	
+	/**
+	 * Open traces older than this are given up on when room is needed, their local root never ended.
+	 */
+	private Duration maxTraceAge = Duration.ofSeconds(30);
+	
+}
+
+
+
+
+
+
+
+
+
+
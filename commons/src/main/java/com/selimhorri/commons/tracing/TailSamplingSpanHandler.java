@@ -0,0 +1,210 @@
+package com.selimhorri.commons.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import brave.sampler.BoundarySampler;
+import brave.sampler.Sampler;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Wraps the Zipkin span handler and holds back the spans of each local trace (the spans this service recorded
+ * under one incoming request) until its local root ends. The whole trace is then exported when the root was
+ * slow, when any span failed, or when the trace id falls in the baseline; otherwise it is dropped.
+ * <p>
+ * Spans ending after their root follow the decision already taken. Memory is bounded by a span budget,
+ * stale traces whose root never ended are evicted first when it runs out.
+ */
+public class TailSamplingSpanHandler extends SpanHandler {
+	
+	private final SpanHandler delegate;
+	private final long latencyThresholdMicros;
+	private final Sampler baseline;
+	private final int maxBufferedSpans;
+	private final long maxTraceAgeNanos;
+	private final TailSamplingStats stats;
+	private final Map<Long, PendingTrace> pending = new ConcurrentHashMap<>();
+	private final Cache<Long, Boolean> decided;
+	private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+	
+	public TailSamplingSpanHandler(final SpanHandler delegate, final TailSamplingProperties properties,
+			final TailSamplingStats stats) {
+		this.delegate = delegate;
+		this.latencyThresholdMicros = TimeUnit.NANOSECONDS.toMicros(properties.getLatencyThreshold().toNanos());
+		this.baseline = properties.getBaseline() <= 0 ? Sampler.NEVER_SAMPLE
+				: BoundarySampler.create(Math.max(properties.getBaseline(), 0.0001F));
+		this.maxBufferedSpans = properties.getMaxBufferedSpans();
+		this.maxTraceAgeNanos = properties.getMaxTraceAge().toNanos();
+		this.stats = stats;
+		this.decided = Caffeine.newBuilder()
+				.maximumSize(properties.getMaxBufferedSpans())
+				.expireAfterWrite(properties.getMaxTraceAge().toNanos(), TimeUnit.NANOSECONDS)
+				.build();
+	}
+	
+	@Override
+	public boolean begin(final TraceContext context, final MutableSpan span, final TraceContext parent) {
+		return this.delegate.begin(context, span, parent);
+	}
+	
+	@Override
+	public boolean end(final TraceContext context, final MutableSpan span, final Cause cause) {
+		
+		if (cause == Cause.ABANDONED || context.debug())
+			return this.delegate.end(context, span, cause);
+		
+		final Boolean decision = this.decided.getIfPresent(context.localRootId());
+		if (decision != null)
+			return !decision || this.delegate.end(context, span, cause);
+		
+		if (context.isLocalRoot())
+			this.decide(context, span, cause);
+		else
+			this.hold(context, span, cause);
+		return true;
+	}
+	
+	private void hold(final TraceContext context, final MutableSpan span, final Cause cause) {
+		if (!this.reserve()) {
+			this.stats.overBudget.increment();
+			return;
+		}
+		final long localRootId = context.localRootId();
+		final PendingTrace trace = this.pending.computeIfAbsent(localRootId, id -> new PendingTrace());
+		if (!trace.add(new Ended(context, span, cause))) {
+			// The root ended in between, its decision is published before the trace is closed
+			this.stats.buffered.decrementAndGet();
+			if (Boolean.TRUE.equals(this.decided.getIfPresent(localRootId)))
+				this.delegate.end(context, span, cause);
+			return;
+		}
+		// The root took its trace out just before this one was created, nobody else will flush it
+		final Boolean decision = this.decided.getIfPresent(localRootId);
+		if (decision != null && this.pending.remove(localRootId, trace))
+			this.flush(trace, decision);
+	}
+	
+	private void decide(final TraceContext context, final MutableSpan root, final Cause cause) {
+		
+		final long localRootId = context.localRootId();
+		final PendingTrace trace = this.pending.get(localRootId);
+		final boolean error = failed(root) || trace != null && trace.error;
+		final boolean slow = root.finishTimestamp() - root.startTimestamp() >= this.latencyThresholdMicros;
+		final boolean keep = error || slow || this.baseline.isSampled(context.traceId());
+		// published first, a child ending from now on either follows it or finds its trace still pending
+		this.decided.put(localRootId, keep);
+		
+		(error ? this.stats.keptError : slow ? this.stats.keptSlow
+				: keep ? this.stats.keptBaseline : this.stats.dropped).increment();
+		
+		final PendingTrace held = this.pending.remove(localRootId);
+		if (held != null)
+			this.flush(held, keep);
+		if (keep)
+			this.delegate.end(context, root, cause);
+	}
+	
+	private void flush(final PendingTrace trace, final boolean keep) {
+		final List<Ended> spans = trace.close();
+		this.stats.buffered.addAndGet(-spans.size());
+		if (keep)
+			spans.forEach(ended -> this.delegate.end(ended.context, ended.span, ended.cause));
+	}
+	
+	private boolean reserve() {
+		if (this.stats.buffered.incrementAndGet() <= this.maxBufferedSpans)
+			return true;
+		this.stats.buffered.decrementAndGet();
+		if (!this.sweep())
+			return false;
+		if (this.stats.buffered.incrementAndGet() <= this.maxBufferedSpans)
+			return true;
+		this.stats.buffered.decrementAndGet();
+		return false;
+	}
+	
+	/**
+	 * Drops traces older than max-trace-age, at most once a second so a full buffer of live traces is not
+	 * scanned on every span.
+	 */
+	private boolean sweep() {
+		final long now = System.nanoTime();
+		final long last = this.lastSweep.get();
+		if (now - last < TimeUnit.SECONDS.toNanos(1L) || !this.lastSweep.compareAndSet(last, now))
+			return false;
+		this.pending.entrySet().removeIf(entry -> {
+			if (now - entry.getValue().createdNanos < this.maxTraceAgeNanos)
+				return false;
+			final int size = entry.getValue().close().size();
+			this.stats.buffered.addAndGet(-size);
+			this.stats.stale.add(size);
+			this.decided.put(entry.getKey(), false);
+			return true;
+		});
+		return true;
+	}
+	
+	private static boolean failed(final MutableSpan span) {
+		return span.error() != null || span.tag("error") != null;
+	}
+	
+	@Override
+	public boolean handlesAbandoned() {
+		return this.delegate.handlesAbandoned();
+	}
+	
+	@Override
+	public String toString() {
+		return "TailSampling(" + this.delegate + ")";
+	}
+	
+	@RequiredArgsConstructor
+	private static final class Ended {
+		final TraceContext context;
+		final MutableSpan span;
+		final Cause cause;
+	}
+	
+	private static final class PendingTrace {
+		
+		final long createdNanos = System.nanoTime();
+		private List<Ended> spans = new ArrayList<>();
+		volatile boolean error;
+		
+		synchronized boolean add(final Ended ended) {
+			if (this.spans == null)
+				return false;
+			this.spans.add(ended);
+			this.error |= failed(ended.span);
+			return true;
+		}
+		
+		synchronized List<Ended> close() {
+			final List<Ended> closed = this.spans == null ? List.of() : this.spans;
+			this.spans = null;
+			return closed;
+		}
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,61 @@
+package com.selimhorri.commons.tracing;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Counters of the tail sampler, kept apart from it because the span handler is built with Tracing, before the
+ * meter registry exists.
+ */
+public class TailSamplingStats implements MeterBinder {
+	
+	final LongAdder keptSlow = new LongAdder();
+	final LongAdder keptError = new LongAdder();
+	final LongAdder keptBaseline = new LongAdder();
+	final LongAdder dropped = new LongAdder();
+	final LongAdder overBudget = new LongAdder();
+	final LongAdder stale = new LongAdder();
+	final AtomicInteger buffered = new AtomicInteger();
+	
+	@Override
+	public void bindTo(final MeterRegistry registry) {
+		this.traces(registry, "slow", this.keptSlow);
+		this.traces(registry, "error", this.keptError);
+		this.traces(registry, "baseline", this.keptBaseline);
+		this.traces(registry, "dropped", this.dropped);
+		FunctionCounter.builder("tracing.tail.spans.lost", this.overBudget, LongAdder::sum)
+				.description("Spans dropped unexported, the buffer was full or their trace never ended")
+				.tag("reason", "budget")
+				.register(registry);
+		FunctionCounter.builder("tracing.tail.spans.lost", this.stale, LongAdder::sum)
+				.description("Spans dropped unexported, the buffer was full or their trace never ended")
+				.tag("reason", "stale")
+				.register(registry);
+		Gauge.builder("tracing.tail.spans.buffered", this.buffered, AtomicInteger::get)
+				.description("Spans held until their trace is decided")
+				.register(registry);
+	}
+	
+	private void traces(final MeterRegistry registry, final String decision, final LongAdder count) {
+		FunctionCounter.builder("tracing.tail.traces", count, LongAdder::sum)
+				.description("Local traces by tail sampling decision")
+				.tag("decision", decision)
+				.register(registry);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,96 @@
+package com.selimhorri.commons.bulkhead;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import com.selimhorri.commons.deadline.Deadline;
+import com.selimhorri.commons.threads.WorkerThreads;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DownstreamBulkheadsTests {
+	
+	private static final List<Integer> KEYS = IntStream.rangeClosed(1, 20_000)
+			.boxed()
+			.collect(Collectors.toUnmodifiableList());
+	
+	private final DownstreamBulkheads bulkheads = new DownstreamBulkheads(new BulkheadProperties(),
+			new WorkerThreads(false), new SimpleMeterRegistry(), new DefaultListableBeanFactory());
+	
+	@AfterEach
+	void tearDown() {
+		this.bulkheads.destroy();
+	}
+	
+	/**
+	 * What an open breaker serving stale values looks like to the fan-out.
+	 */
+	@Test
+	void fanOutOverCompletedLookupsDoesNotGrowTheStack() throws Exception {
+		final Map<Integer, Integer> results = this.bulkheads
+				.fanOut("productService", KEYS, key -> CompletableFuture.completedFuture(key * 2))
+				.get(10L, TimeUnit.SECONDS);
+		assertThat(results).hasSize(KEYS.size())
+				.containsEntry(KEYS.size(), KEYS.size() * 2);
+	}
+	
+	@Test
+	void fanOutStopsAtTheFirstFailedLookup() {
+		final AtomicInteger started = new AtomicInteger();
+		assertThatThrownBy(() -> this.bulkheads
+				.fanOut("productService", KEYS, key -> {
+					started.incrementAndGet();
+					return CompletableFuture.failedFuture(new BulkheadRejectedException("full", null));
+				})
+				.get(10L, TimeUnit.SECONDS))
+				.hasCauseInstanceOf(BulkheadRejectedException.class);
+		assertThat(started.get()).isLessThanOrEqualTo(new BulkheadProperties().pool("productService").getFanOut());
+	}
+	
+	@Test
+	void fanOutMixesRunningAndCompletedLookups() throws Exception {
+		final Map<Integer, Integer> results = this.bulkheads
+				.fanOut("productService", KEYS, key -> key % 100 == 0
+						? this.bulkheads.submit("productService", () -> key)
+						: CompletableFuture.completedFuture(key))
+				.get(10L, TimeUnit.SECONDS);
+		assertThat(results).hasSize(KEYS.size());
+	}
+		@Test
+	void finishedCallsDropTheirDeadlineTimeouts() throws Exception {
+		final Deadline deadline = Deadline.after(Duration.ofMinutes(5L));
+		for (int i = 0; i < 1_000; i++) {
+			final int key = i;
+			Deadline.wrap(deadline, () -> this.bulkheads.submit("productService", () -> key))
+					.get()
+					.get(10L, TimeUnit.SECONDS);
+		}
+		
+		// only the last call's timeout may still be on its way out, get() can return before whenComplete ran
+		assertThat(this.bulkheads.pendingDeadlines()).isLessThanOrEqualTo(1);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
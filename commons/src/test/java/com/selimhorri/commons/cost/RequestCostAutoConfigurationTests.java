@@ -0,0 +1,64 @@
+package com.selimhorri.commons.cost;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Closeable;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RequestCostAutoConfigurationTests {
+	
+	private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+			.withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class, RequestCostAutoConfiguration.class))
+			.withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+			.withPropertyValues("spring.datasource.url=jdbc:h2:mem:request-cost");
+	
+	@Test
+	void closingTheContextClosesTheWrappedPool() {
+		final AtomicReference<HikariDataSource> pool = new AtomicReference<>();
+		
+		this.contextRunner.run(context -> {
+			final DataSource dataSource = context.getBean(DataSource.class);
+			assertThat(dataSource).isNotInstanceOf(HikariDataSource.class);
+			pool.set(dataSource.unwrap(HikariDataSource.class));
+			dataSource.getConnection().close();
+			assertThat(pool.get().isClosed()).isFalse();
+		});
+		
+		assertThat(pool.get().isClosed()).as("pool closed with the context").isTrue();
+	}
+	
+	@Test
+	void closingTheWrappedDataSourceClosesThePool() {
+		this.contextRunner.run(context -> {
+			final DataSource dataSource = context.getBean(DataSource.class);
+			assertThat(dataSource).isInstanceOf(Closeable.class);
+			
+			((Closeable) dataSource).close();
+			
+			assertThat(dataSource.unwrap(HikariDataSource.class).isClosed()).isTrue();
+		});
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
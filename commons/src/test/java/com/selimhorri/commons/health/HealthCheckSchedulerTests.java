@@ -0,0 +1,89 @@
+package com.selimhorri.commons.health;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+
+class HealthCheckSchedulerTests {
+	
+	private final CountDownLatch released = new CountDownLatch(1);
+	private final HealthCheckScheduler scheduler = new HealthCheckScheduler(this.properties());
+	
+	@AfterEach
+	void tearDown() {
+		this.released.countDown();
+		this.scheduler.stop();
+	}
+	
+	@Test
+	void hangingChecksDoNotHoldUpTheOthers() throws Exception {
+		final CountDownLatch runs = new CountDownLatch(5);
+		this.scheduler.register(new CachedHealthInterceptor("db", this::hang, Duration.ofSeconds(1L)));
+		this.scheduler.register(new CachedHealthInterceptor("diskSpace", this::hang, Duration.ofSeconds(1L)));
+		this.scheduler.register(new CachedHealthInterceptor("discoveryComposite", this::hang, Duration.ofSeconds(1L)));
+		this.scheduler.register(new CachedHealthInterceptor("refreshScope", () -> {
+			runs.countDown();
+			return Health.up().build();
+		}, Duration.ofSeconds(1L)));
+		
+		this.scheduler.start();
+		
+		assertThat(runs.await(5L, TimeUnit.SECONDS)).as("refreshes of the healthy indicator").isTrue();
+	}
+	
+	@Test
+	void probesDoNotWaitForTheFirstCheck() {
+		final AtomicInteger calls = new AtomicInteger();
+		final CachedHealthInterceptor interceptor = new CachedHealthInterceptor("db", () -> {
+			calls.incrementAndGet();
+			return this.hang();
+		}, Duration.ofSeconds(1L));
+		final HealthIndicator probe = this.proxy(interceptor);
+		
+		assertThat(probe.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+		assertThat(probe.getHealth(false).getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+		assertThat(calls.get()).as("checks run by the probes").isZero();
+	}
+	
+	private HealthIndicator proxy(final CachedHealthInterceptor interceptor) {
+		final ProxyFactory proxyFactory = new ProxyFactory(HealthIndicator.class, interceptor);
+		return (HealthIndicator) proxyFactory.getProxy();
+	}
+	
+	private CachedHealthProperties properties() {
+		final var properties = new CachedHealthProperties();
+		properties.setInterval(Duration.ofMillis(20L));
+		return properties;
+	}
+	
+	private Health hang() {
+		try {
+			this.released.await(10L, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return Health.up().build();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
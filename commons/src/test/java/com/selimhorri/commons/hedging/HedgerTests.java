@@ -0,0 +1,97 @@
+package com.selimhorri.commons.hedging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cloud.sleuth.Tracer;
+
+import com.selimhorri.commons.bulkhead.BulkheadProperties;
+import com.selimhorri.commons.bulkhead.DownstreamBulkheads;
+import com.selimhorri.commons.threads.WorkerThreads;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HedgerTests {
+	
+	private static final String TARGET = "PRODUCT-SERVICE";
+	
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final DownstreamBulkheads bulkheads = new DownstreamBulkheads(new BulkheadProperties(),
+			new WorkerThreads(false), this.meterRegistry, new DefaultListableBeanFactory());
+	private final Hedger hedger = new Hedger(this.properties(), this.meterRegistry,
+			new DefaultListableBeanFactory().getBeanProvider(Tracer.class));
+	
+	@AfterEach
+	void tearDown() {
+		this.bulkheads.destroy();
+	}
+	
+	@Test
+	void losingAttemptOnTheBulkheadIsInterrupted() throws Exception {
+		this.warmUp(() -> this.hedger.execute(TARGET, attempt -> this.bulkheads.submit("productService", attempt), this.fast()));
+		
+		final CountDownLatch interrupted = new CountDownLatch(1);
+		final AtomicInteger attempts = new AtomicInteger();
+		final String result = this.hedger.execute(TARGET, attempt -> this.bulkheads.submit("productService", attempt),
+				() -> attempts.incrementAndGet() == 1 ? this.hang(interrupted) : "hedge");
+		
+		assertThat(result).isEqualTo("hedge");
+		assertThat(interrupted.await(1L, TimeUnit.SECONDS)).as("primary interrupted").isTrue();
+	}
+	
+	private HedgingProperties properties() {
+		final var properties = new HedgingProperties();
+		properties.setEnabled(true);
+		properties.setMinimumSamples(5L);
+		return properties;
+	}
+	
+	/**
+	 * Enough samples for a hedging delay, then past the delay's refresh interval so it is picked up.
+	 */
+	private void warmUp(final Runnable call) throws InterruptedException {
+		for (int i = 0; i < 20; i++)
+			call.run();
+		Thread.sleep(1_100L);
+	}
+	
+	private Supplier<String> fast() {
+		return () -> {
+			try {
+				Thread.sleep(5L);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return "primary";
+		};
+	}
+	
+	private String hang(final CountDownLatch interrupted) {
+		try {
+			Thread.sleep(10_000L);
+		}
+		catch (InterruptedException e) {
+			interrupted.countDown();
+		}
+		return "primary";
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
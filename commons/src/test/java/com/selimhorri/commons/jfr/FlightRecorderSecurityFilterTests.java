@@ -0,0 +1,90 @@
+package com.selimhorri.commons.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import reactor.core.publisher.Mono;
+
+class FlightRecorderSecurityFilterTests {
+	
+	private static final String SIGNING_KEY = "secret";
+	
+	private final FlightRecorderSecurityFilter filter = new FlightRecorderSecurityFilter(new FlightRecorderAccess(SIGNING_KEY));
+	
+	@Test
+	void adminTokenReachesTheEndpoint() throws Exception {
+		final MockFilterChain chain = new MockFilterChain();
+		final MockHttpServletResponse response = this.post(token(SIGNING_KEY, "ROLE_ADMIN", 60_000L), chain);
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(chain.getRequest()).isNotNull();
+	}
+	
+	@Test
+	void userTokenIsForbidden() throws Exception {
+		assertThat(this.post(token(SIGNING_KEY, "ROLE_USER", 60_000L), new MockFilterChain()).getStatus())
+				.isEqualTo(403);
+	}
+	
+	@Test
+	void missingForgedOrExpiredTokensAreUnauthorized() throws Exception {
+		assertThat(this.post(null, new MockFilterChain()).getStatus()).isEqualTo(401);
+		assertThat(this.post(token("other", "ROLE_ADMIN", 60_000L), new MockFilterChain()).getStatus()).isEqualTo(401);
+		assertThat(this.post(token(SIGNING_KEY, "ROLE_ADMIN", -60_000L), new MockFilterChain()).getStatus()).isEqualTo(401);
+	}
+	
+	@Test
+	void gatewayGuardsOnlyTheJfrPath() {
+		final FlightRecorderSecurityWebFilter webFilter = new FlightRecorderSecurityWebFilter(
+				new FlightRecorderAccess(SIGNING_KEY), "/actuator/jfr");
+		
+		final MockServerWebExchange jfr = MockServerWebExchange.from(MockServerHttpRequest.post("/actuator/jfr/1"));
+		webFilter.filter(jfr, exchange -> Mono.empty()).block();
+		assertThat(jfr.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+		
+		final MockServerWebExchange health = MockServerWebExchange.from(MockServerHttpRequest.get("/actuator/health"));
+		webFilter.filter(health, exchange -> Mono.empty()).block();
+		assertThat(health.getResponse().getStatusCode()).isNull();
+	}
+	
+	private MockHttpServletResponse post(final String token, final MockFilterChain chain) throws Exception {
+		final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/actuator/jfr");
+		if (token != null)
+			request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+		final MockHttpServletResponse response = new MockHttpServletResponse();
+		this.filter.doFilter(request, response, chain);
+		return response;
+	}
+	
+	private static String token(final String signingKey, final String role, final long expiresInMillis) {
+		return Jwts.builder()
+				.claim(FlightRecorderAccess.ROLES_CLAIM, List.of(role))
+				.setSubject("selimhorri")
+				.setExpiration(new Date(System.currentTimeMillis() + expiresInMillis))
+				.signWith(SignatureAlgorithm.HS256, signingKey)
+				.compact();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
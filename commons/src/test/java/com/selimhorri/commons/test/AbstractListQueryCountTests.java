@@ -0,0 +1,83 @@
+package com.selimhorri.commons.test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * {@link ListQueryScaling} checks of a service's list endpoints, a service's ListQueryCountTests only names
+ * itself and its paths.
+ */
+@QueryCountTest
+public abstract class AbstractListQueryCountTests {
+	
+	private final String service;
+	private final List<String> listPaths;
+	private final List<String> asyncListPaths;
+	
+	@Autowired
+	private MockMvc mockMvc;
+	
+	@Autowired
+	private DataSource dataSource;
+	
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	
+	@MockBean
+	private RestTemplate restTemplate;
+	
+	private ListQueryScaling scaling;
+	
+	protected AbstractListQueryCountTests(final String service, final List<String> listPaths,
+			final List<String> asyncListPaths) {
+		this.service = service;
+		this.listPaths = listPaths;
+		this.asyncListPaths = asyncListPaths;
+	}
+	
+	@BeforeEach
+	void setUp() {
+		this.scaling = new ListQueryScaling(this.service, this.mockMvc, this.dataSource, this.entityManagerFactory);
+	}
+	
+	@TestFactory
+	Stream<DynamicTest> listEndpointsDoNotQueryPerRow() {
+		return this.listPaths.stream()
+				.map(path -> DynamicTest.dynamicTest(path, () -> {
+					ListQueryScaling.stubRemoteCalls(this.restTemplate);
+					this.scaling.assertStatementsDoNotScale(path);
+				}));
+	}
+	
+	@TestFactory
+	Stream<DynamicTest> asyncListEndpointsServeLongLists() {
+		return this.asyncListPaths.stream()
+				.map(path -> DynamicTest.dynamicTest(path, () -> {
+					ListQueryScaling.stubRemoteCalls(this.restTemplate, Duration.ofMillis(5L));
+					this.scaling.assertAsyncListCompletes(path);
+				}));
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,131 @@
+package com.selimhorri.commons.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.SQLException;
+import java.time.Duration;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.mockito.ArgumentMatchers;
+import org.springframework.beans.BeanUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.generator.DataGenerator;
+import com.selimhorri.generator.GeneratorProperties;
+
+/**
+ * Fills the service's tables at a small and a large size, calls a list endpoint at both and fails when the
+ * number of statements Hibernate prepared grew with the rows, i.e. a mapping started loading per row (N+1).
+ */
+public class ListQueryScaling {
+	
+	public static final int SMALL = 10;
+	public static final int LARGE = 40;
+	
+	/**
+	 * Well past what a bulkhead pool and its queue hold at once.
+	 */
+	public static final int FAN_OUT = 200;
+	
+	private final String service;
+	private final MockMvc mockMvc;
+	private final DataSource dataSource;
+	private final Statistics statistics;
+	
+	public ListQueryScaling(final String service, final MockMvc mockMvc, final DataSource dataSource,
+			final EntityManagerFactory entityManagerFactory) {
+		this.service = service;
+		this.mockMvc = mockMvc;
+		this.dataSource = dataSource;
+		this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+	
+	/**
+	 * Answers every remote enrichment call with an empty DTO of the requested type, only the local queries count.
+	 */
+	public static void stubRemoteCalls(final RestTemplate restTemplate) {
+		stubRemoteCalls(restTemplate, Duration.ZERO);
+	}
+	
+	/**
+	 * Same, each call taking the given latency so lookups overlap like they would against a real downstream.
+	 */
+	public static void stubRemoteCalls(final RestTemplate restTemplate, final Duration latency) {
+		when(restTemplate.getForObject(anyString(), ArgumentMatchers.<Class<Object>>any(), any(Object[].class)))
+				.thenAnswer(invocation -> {
+					Thread.sleep(latency.toMillis());
+					return BeanUtils.instantiateClass(invocation.<Class<?>>getArgument(1));
+				});
+	}
+	
+	public void assertStatementsDoNotScale(final String path) throws Exception {
+		final long small = this.statements(path, SMALL);
+		final long large = this.statements(path, LARGE);
+		assertThat(large)
+				.as("GET %s ran %d statements with %d rows per table but %d with %d, some rows are loaded one query each",
+						path, small, SMALL, large, LARGE)
+				.isEqualTo(small);
+	}
+	
+	/**
+	 * Calls an async list endpoint over {@link #FAN_OUT} rows per table and fails when it errors or serves any
+	 * row degraded, i.e. the enrichment lookups were not kept within the downstream bulkheads.
+	 */
+	public void assertAsyncListCompletes(final String path) throws Exception {
+		this.seed(FAN_OUT);
+		final MvcResult result = this.mockMvc.perform(get(path))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		this.mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.collection").isNotEmpty())
+				.andExpect(jsonPath("$..degraded").isEmpty());
+	}
+	
+	private long statements(final String path, final int rows) throws Exception {
+		this.seed(rows);
+		this.statistics.clear();
+		this.mockMvc.perform(get(path))
+				.andExpect(status().isOk());
+		return this.statistics.getPrepareStatementCount();
+	}
+	
+	private void seed(final int rows) throws SQLException {
+		final var properties = new GeneratorProperties();
+		properties.setUsers(rows);
+		properties.setCategories(rows);
+		properties.setProducts(rows);
+		properties.setCarts(rows);
+		properties.setOrders(rows);
+		properties.setFavourites(rows);
+		properties.setMaxItemsPerOrder(2);
+		try (final var connection = this.dataSource.getConnection()) {
+			new DataGenerator(properties).generate(this.service, connection);
+		}
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,42 @@
+package com.selimhorri.commons.test;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Full service on its dev H2 database, standalone (no config server, Eureka or Zipkin) and with Hibernate
+ * statistics on, for {@link ListQueryScaling}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@SpringBootTest(properties = {
+		"SPRING_CONFIG_IMPORT=",
+		"eureka.client.enabled=false",
+		"spring.zipkin.enabled=false",
+		"spring.jpa.show-sql=false",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@AutoConfigureMockMvc
+public @interface QueryCountTest {
+	
+}
+
+
+
+
+
+
+
+
+
+
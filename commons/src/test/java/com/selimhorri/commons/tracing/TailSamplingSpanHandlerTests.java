@@ -0,0 +1,85 @@
+package com.selimhorri.commons.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import brave.Span;
+import brave.Tracer;
+import brave.Tracing;
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+
+class TailSamplingSpanHandlerTests {
+	
+	private final Queue<MutableSpan> exported = new ConcurrentLinkedQueue<>();
+	private final TailSamplingStats stats = new TailSamplingStats();
+	private final ExecutorService executor = Executors.newSingleThreadExecutor();
+	private final Tracing tracing = Tracing.newBuilder()
+			.addSpanHandler(new TailSamplingSpanHandler(new SpanHandler() {
+				
+				@Override
+				public boolean end(final TraceContext context, final MutableSpan span, final Cause cause) {
+					return TailSamplingSpanHandlerTests.this.exported.add(span);
+				}
+				
+			}, this.properties(), this.stats))
+			.build();
+	
+	@AfterEach
+	void tearDown() {
+		this.executor.shutdownNow();
+		this.tracing.close();
+	}
+	
+	@Test
+	void childrenEndingWithTheirRootAreExportedWithIt() throws Exception {
+		final Tracer tracer = this.tracing.tracer();
+		final int traces = 2_000;
+		for (int i = 0; i < traces; i++) {
+			final Span root = tracer.newTrace().start();
+			final Span child = tracer.newChild(root.context()).start();
+			final CountDownLatch started = new CountDownLatch(1);
+			final Future<?> childEnded = this.executor.submit(() -> {
+				started.countDown();
+				child.finish();
+			});
+			started.await();
+			root.finish();
+			childEnded.get(10L, TimeUnit.SECONDS);
+		}
+		
+		assertThat(this.exported).hasSize(traces * 2);
+		assertThat(this.stats.buffered).hasValue(0);
+	}
+	
+	private TailSamplingProperties properties() {
+		final var properties = new TailSamplingProperties();
+		// every trace is slow enough to keep
+		properties.setLatencyThreshold(Duration.ZERO);
+		properties.setBaseline(0F);
+		return properties;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
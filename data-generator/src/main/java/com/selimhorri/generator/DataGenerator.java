@@ -0,0 +1,361 @@
+package com.selimhorri.generator;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fills the tables of one service with generated rows. Ids are dense (1..count) and every foreign id points at
+ * a row the owning service gets from the same properties, so services can be filled separately, in any order.
+ * Existing rows are truncated and the identity columns restarted after the last generated id, outside H2 only
+ * once {@link GeneratorProperties#isTruncate()} confirms it.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DataGenerator {
+	
+	public static final List<String> SERVICES = List.of("user-service", "product-service", "order-service",
+			"payment-service", "shipping-service", "favourite-service");
+	
+	private static final LocalDateTime START = LocalDateTime.of(2021, 1, 1, 9, 0);
+	private static final String[] CITIES = { "tunis", "carthage", "kram", "sousse", "sfax", "bizerte", "nabeul" };
+	
+	/**
+	 * Same hash as the Flyway seed users, so generated accounts can log in with the known seed password.
+	 */
+	private static final String PASSWORD = "$2a$04$/S7cWjHPZul03sPEivycWeKTBvLyjYdaRWmeaFbiqKy9es/3W4QB6";
+	
+	private final GeneratorProperties properties;
+	
+	public void generate(final String service) throws SQLException {
+		final var datasource = this.properties.datasource(service);
+		if (datasource.getUrl() == null)
+			throw new IllegalArgumentException("No datasource url configured for " + service);
+		try (final var connection = DriverManager.getConnection(datasource.getUrl(),
+				datasource.getUsername(), datasource.getPassword())) {
+			this.generate(service, connection);
+		}
+	}
+	
+	public void generate(final String service, final Connection connection) throws SQLException {
+		final var dialect = Dialect.of(connection);
+		if (dialect != Dialect.H2 && !this.properties.isTruncate())
+			throw new IllegalStateException(String.format("Refusing to truncate the %s tables in %s, "
+					+ "pass --app.data-generator.truncate=true to confirm", service, connection.getMetaData().getURL()));
+		connection.setAutoCommit(false);
+		try (final var statement = connection.createStatement()) {
+			dialect.referentialIntegrity(statement, false);
+		}
+		switch (service) {
+			case "user-service":
+				this.users(connection, dialect);
+				break;
+			case "product-service":
+				this.products(connection, dialect);
+				break;
+			case "order-service":
+				this.orders(connection, dialect);
+				break;
+			case "payment-service":
+				this.payments(connection, dialect);
+				break;
+			case "shipping-service":
+				this.orderItems(connection, dialect);
+				break;
+			case "favourite-service":
+				this.favourites(connection, dialect);
+				break;
+			default:
+				log.info("*** Nothing to generate for {} *", service);
+		}
+		try (final var statement = connection.createStatement()) {
+			dialect.referentialIntegrity(statement, true);
+		}
+		connection.commit();
+	}
+	
+	private void users(final Connection connection, final Dialect dialect) throws SQLException {
+		final int users = this.properties.getUsers();
+		var random = this.random("users");
+		try (final var batch = new Batch(connection, dialect, "users", "user_id",
+				"INSERT INTO users (user_id, first_name, last_name, image_url, email, phone) VALUES (?, ?, ?, ?, ?, ?)")) {
+			for (int id = 1; id <= users; id++) {
+				final var s = batch.row();
+				s.setInt(1, id);
+				s.setString(2, "First" + id);
+				s.setString(3, "Last" + id);
+				s.setString(4, "https://cdn.example.com/users/" + id + ".jpg");
+				s.setString(5, "user" + id + "@example.com");
+				s.setString(6, String.format("+216%08d", random.nextInt(100_000_000)));
+				batch.add();
+			}
+		}
+		random = this.random("credentials");
+		try (final var batch = new Batch(connection, dialect, "credentials", "credential_id",
+				"INSERT INTO credentials (credential_id, user_id, username, password, role, is_enabled, is_account_non_expired, "
+						+ "is_account_non_locked, is_credentials_non_expired) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+			for (int id = 1; id <= users; id++) {
+				final var s = batch.row();
+				s.setInt(1, id);
+				s.setInt(2, id);
+				s.setString(3, "user" + id);
+				s.setString(4, PASSWORD);
+				s.setString(5, random.nextInt(100) == 0 ? "ROLE_ADMIN" : "ROLE_USER");
+				s.setBoolean(6, random.nextInt(20) != 0);
+				s.setBoolean(7, true);
+				s.setBoolean(8, true);
+				s.setBoolean(9, true);
+				batch.add();
+			}
+		}
+		random = this.random("address");
+		try (final var batch = new Batch(connection, dialect, "address", "address_id",
+				"INSERT INTO address (address_id, user_id, full_address, postal_code, city) VALUES (?, ?, ?, ?, ?)")) {
+			int id = 0;
+			for (int user = 1; user <= users; user++) {
+				for (int n = random.nextInt(3); n >= 0; n--) {
+					final var s = batch.row();
+					s.setInt(1, ++id);
+					s.setInt(2, user);
+					s.setString(3, (random.nextInt(200) + 1) + " avenue " + id);
+					s.setString(4, String.valueOf(1_000 + random.nextInt(9_000)));
+					s.setString(5, CITIES[random.nextInt(CITIES.length)]);
+					batch.add();
+				}
+			}
+		}
+		random = this.random("verification_tokens");
+		try (final var batch = new Batch(connection, dialect, "verification_tokens", "verification_token_id",
+				"INSERT INTO verification_tokens (verification_token_id, credential_id, verif_token, expire_date) VALUES (?, ?, ?, ?)")) {
+			for (int id = 1; id <= users; id++) {
+				final var s = batch.row();
+				s.setInt(1, id);
+				s.setInt(2, id);
+				s.setString(3, new UUID(random.nextLong(), random.nextLong()).toString());
+				s.setDate(4, Date.valueOf(LocalDate.of(2022, 1, 1).plusDays(random.nextInt(365))));
+				batch.add();
+			}
+		}
+	}
+	
+	private void products(final Connection connection, final Dialect dialect) throws SQLException {
+		final int categories = this.properties.getCategories();
+		var random = this.random("categories");
+		// roughly a tenth of the categories are roots, the others hang under an earlier one
+		final int roots = Math.max(1, categories / 10);
+		try (final var batch = new Batch(connection, dialect, "categories", "category_id",
+				"INSERT INTO categories (category_id, parent_category_id, category_title, image_url) VALUES (?, ?, ?, ?)")) {
+			for (int id = 1; id <= categories; id++) {
+				final var s = batch.row();
+				s.setInt(1, id);
+				if (id <= roots)
+					s.setNull(2, Types.INTEGER);
+				else
+					s.setInt(2, random.nextInt(id - 1) + 1);
+				s.setString(3, "Category " + id);
+				s.setString(4, "https://cdn.example.com/categories/" + id + ".jpg");
+				batch.add();
+			}
+		}
+		random = this.random("products");
+		try (final var batch = new Batch(connection, dialect, "products", "product_id",
+				"INSERT INTO products (product_id, category_id, product_title, image_url, sku, price_unit, quantity) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+			for (int id = 1; id <= this.properties.getProducts(); id++) {
+				final var s = batch.row();
+				s.setInt(1, id);
+				s.setInt(2, random.nextInt(categories) + 1);
+				s.setString(3, "Product " + id);
+				s.setString(4, "https://cdn.example.com/products/" + id + ".jpg");
+				s.setString(5, String.format("SKU-%08d", id));
+				s.setDouble(6, (random.nextInt(500_000) + 100) / 100.0);
+				s.setInt(7, random.nextInt(500));
+				batch.add();
+			}
+		}
+	}
+	
+	private void orders(final Connection connection, final Dialect dialect) throws SQLException {
+		final int carts = this.properties.getCarts();
+		var random = this.random("carts");
+		final var users = this.userPopularity();
+		try (final var batch = new Batch(connection, dialect, "carts", "cart_id",
+				"INSERT INTO carts (cart_id, user_id) VALUES (?, ?)")) {
+			for (int id = 1; id <= carts; id++) {
+				final var s = batch.row();
+				s.setInt(1, id);
+				// the first cart of each user keeps every user reachable, the rest follow user activity
+				s.setInt(2, id <= this.properties.getUsers() ? id : users.sample(random));
+				batch.add();
+			}
+		}
+		random = this.random("orders");
+		final int orders = this.properties.getOrders();
+		final long span = Duration.ofDays(730).toSeconds();
+		try (final var batch = new Batch(connection, dialect, "orders", "order_id",
+				"INSERT INTO orders (order_id, cart_id, order_date, order_desc, order_fee) VALUES (?, ?, ?, ?, ?)")) {
+			for (int id = 1; id <= orders; id++) {
+				final var s = batch.row();
+				s.setInt(1, id);
+				s.setInt(2, random.nextInt(carts) + 1);
+				// ids follow order dates, like rows inserted by the application
+				s.setTimestamp(3, Timestamp.valueOf(START.plusSeconds(span * id / orders)));
+				s.setString(4, "Order " + id);
+				s.setDouble(5, (random.nextInt(100_000) + 100) / 100.0);
+				batch.add();
+			}
+		}
+	}
+	
+	private void payments(final Connection connection, final Dialect dialect) throws SQLException {
+		final var random = this.random("payments");
+		try (final var batch = new Batch(connection, dialect, "payments", "payment_id",
+				"INSERT INTO payments (payment_id, order_id, is_payed, payment_status) VALUES (?, ?, ?, ?)")) {
+			for (int id = 1; id <= this.properties.getOrders(); id++) {
+				final int roll = random.nextInt(10);
+				final String status = roll < 7 ? "COMPLETED" : roll < 9 ? "IN_PROGRESS" : "NOT_STARTED";
+				final var s = batch.row();
+				s.setInt(1, id);
+				s.setInt(2, id);
+				s.setBoolean(3, "COMPLETED".equals(status));
+				s.setString(4, status);
+				batch.add();
+			}
+		}
+	}
+	
+	private void orderItems(final Connection connection, final Dialect dialect) throws SQLException {
+		final var random = this.random("order_items");
+		final var products = this.productPopularity();
+		final int max = Math.min(this.properties.getMaxItemsPerOrder(), this.properties.getProducts());
+		final Set<Integer> picked = new HashSet<>();
+		try (final var batch = new Batch(connection, dialect, "order_items", null,
+				"INSERT INTO order_items (product_id, order_id, ordered_quantity) VALUES (?, ?, ?)")) {
+			for (int order = 1; order <= this.properties.getOrders(); order++) {
+				picked.clear();
+				final int items = random.nextInt(max) + 1;
+				// a hot product drawn twice is redrawn, uniformly once the skew makes that unlikely to converge
+				for (int attempt = 0; picked.size() < items; attempt++)
+					picked.add(attempt < 4 * items ? products.sample(random)
+							: random.nextInt(this.properties.getProducts()) + 1);
+				for (final int product : picked) {
+					final var s = batch.row();
+					s.setInt(1, product);
+					s.setInt(2, order);
+					s.setInt(3, random.nextInt(5) + 1);
+					batch.add();
+				}
+			}
+		}
+	}
+	
+	private void favourites(final Connection connection, final Dialect dialect) throws SQLException {
+		final var random = this.random("favourites");
+		final var users = this.userPopularity();
+		final var products = this.productPopularity();
+		try (final var batch = new Batch(connection, dialect, "favourites", null,
+				"INSERT INTO favourites (user_id, product_id, like_date) VALUES (?, ?, ?)")) {
+			for (int id = 1; id <= this.properties.getFavourites(); id++) {
+				final var s = batch.row();
+				s.setInt(1, users.sample(random));
+				s.setInt(2, products.sample(random));
+				// distinct like dates keep the (user, product, like_date) key unique
+				s.setTimestamp(3, Timestamp.valueOf(START.plusSeconds(37L * id)));
+				batch.add();
+			}
+		}
+	}
+	
+	private ZipfDistribution userPopularity() {
+		return new ZipfDistribution(this.properties.getUsers(), this.properties.getUserSkew(),
+				this.random("user-popularity"));
+	}
+	
+	private ZipfDistribution productPopularity() {
+		return new ZipfDistribution(this.properties.getProducts(), this.properties.getProductSkew(),
+				this.random("product-popularity"));
+	}
+	
+	private Random random(final String stream) {
+		return new Random(this.properties.getSeed() * 31 + stream.hashCode());
+	}
+	
+	/**
+	 * Truncates the table, then sends batches of batchSize rows, committing each so a large load does not
+	 * build up one huge transaction.
+	 */
+	private final class Batch implements AutoCloseable {
+		
+		private final Connection connection;
+		private final Dialect dialect;
+		private final String table;
+		private final String idColumn;
+		private final PreparedStatement statement;
+		private final long start = System.nanoTime();
+		private int rows;
+		
+		private Batch(final Connection connection, final Dialect dialect, final String table, final String idColumn,
+				final String sql) throws SQLException {
+			this.connection = connection;
+			this.dialect = dialect;
+			this.table = table;
+			this.idColumn = idColumn;
+			try (final var statement = connection.createStatement()) {
+				dialect.truncate(statement, table);
+			}
+			this.statement = connection.prepareStatement(sql);
+		}
+		
+		private PreparedStatement row() {
+			return this.statement;
+		}
+		
+		private void add() throws SQLException {
+			this.statement.addBatch();
+			if (++this.rows % properties.getBatchSize() == 0) {
+				this.statement.executeBatch();
+				this.connection.commit();
+			}
+		}
+		
+		@Override
+		public void close() throws SQLException {
+			try (this.statement) {
+				this.statement.executeBatch();
+			}
+			if (this.idColumn != null)
+				try (final var statement = this.connection.createStatement()) {
+					this.dialect.restartIdentity(statement, this.table, this.idColumn, this.rows + 1L);
+				}
+			this.connection.commit();
+			log.info("*** Generated {} rows into {} in {} ms *", this.rows, this.table,
+					(System.nanoTime() - this.start) / 1_000_000);
+		}
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
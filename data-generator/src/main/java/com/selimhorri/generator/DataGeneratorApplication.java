@@ -0,0 +1,27 @@
+package com.selimhorri.generator;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+
+@SpringBootApplication
+@EnableConfigurationProperties(GeneratorProperties.class)
+public class DataGeneratorApplication {
+	
+	public static void main(String[] args) {
+		System.exit(SpringApplication.exit(SpringApplication.run(DataGeneratorApplication.class, args)));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,78 @@
+package com.selimhorri.generator;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * The few statements that differ between the dev (H2) and stage/prod (MySQL) databases.
+ */
+public enum Dialect {
+	
+	H2 {
+		
+		@Override
+		void referentialIntegrity(final Statement statement, final boolean enabled) throws SQLException {
+			statement.execute("SET REFERENTIAL_INTEGRITY " + (enabled ? "TRUE" : "FALSE"));
+		}
+		
+		@Override
+		void truncate(final Statement statement, final String table) throws SQLException {
+			statement.execute("TRUNCATE TABLE " + table);
+		}
+		
+		@Override
+		void restartIdentity(final Statement statement, final String table, final String column, final long next)
+				throws SQLException {
+			statement.execute(String.format("ALTER TABLE %s ALTER COLUMN %s RESTART WITH %d", table, column, next));
+		}
+		
+	},
+	
+	MYSQL {
+		
+		@Override
+		void referentialIntegrity(final Statement statement, final boolean enabled) throws SQLException {
+			statement.execute("SET FOREIGN_KEY_CHECKS = " + (enabled ? 1 : 0));
+		}
+		
+		@Override
+		void truncate(final Statement statement, final String table) throws SQLException {
+			statement.execute("TRUNCATE TABLE " + table);
+		}
+		
+		@Override
+		void restartIdentity(final Statement statement, final String table, final String column, final long next)
+				throws SQLException {
+			statement.execute(String.format("ALTER TABLE %s AUTO_INCREMENT = %d", table, next));
+		}
+		
+	};
+	
+	abstract void referentialIntegrity(final Statement statement, final boolean enabled) throws SQLException;
+	
+	abstract void truncate(final Statement statement, final String table) throws SQLException;
+	
+	abstract void restartIdentity(final Statement statement, final String table, final String column, final long next)
+			throws SQLException;
+	
+	public static Dialect of(final Connection connection) throws SQLException {
+		final String product = connection.getMetaData().getDatabaseProductName();
+		if ("H2".equalsIgnoreCase(product))
+			return H2;
+		if (product.toLowerCase().contains("mysql") || product.toLowerCase().contains("mariadb"))
+			return MYSQL;
+		throw new IllegalArgumentException("Unsupported database: " + product);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,94 @@
+package com.selimhorri.generator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.data-generator")
+public class GeneratorProperties {
+	
+	/**
+	 * Same seed and counts, same rows: every table draws from its own seeded stream, so the schemas
+	 * of different services can be generated separately and still reference each other's ids.
+	 */
+	private long seed = 42L;
+	private int batchSize = 1_000;
+	
+	private int users = 10_000;
+	private int categories = 50;
+	private int products = 5_000;
+	
+	/**
+	 * Defaults to one cart per user.
+	 */
+	private int carts = 0;
+	private int orders = 100_000;
+	
+	/**
+	 * Each order gets 1..max distinct products, about (max + 1) / 2 order items per order.
+	 */
+	private int maxItemsPerOrder = 5;
+	private int favourites = 50_000;
+	
+	/**
+	 * Zipf exponents of product popularity (order items, favourites) and user activity (carts, favourites),
+	 * 0 is uniform, around 1 is a typical catalogue long tail.
+	 */
+	private double productSkew = 1.0;
+	private double userSkew = 0.5;
+	
+	/**
+	 * Services whose tables are (re)filled, existing rows are truncated.
+	 */
+	private List<String> services = new ArrayList<>(DataGenerator.SERVICES);
+	
+	/**
+	 * Confirms truncating the tables of a database other than H2, which may well hold real data.
+	 */
+	private boolean truncate;
+	
+	/**
+	 * Connection for every service without its own, none by default so a target is always named explicitly.
+	 * Add rewriteBatchedStatements=true to MySQL URLs, batches are sent row by row otherwise.
+	 */
+	private Datasource datasource = new Datasource();
+	
+	/**
+	 * Per-service connections, e.g. one H2 file per service.
+	 */
+	private Map<String, Datasource> datasources = new HashMap<>();
+	
+	public int getCarts() {
+		return this.carts > 0 ? this.carts : this.users;
+	}
+	
+	public Datasource datasource(final String service) {
+		return this.datasources.getOrDefault(service, this.datasource);
+	}
+	
+	@Data
+	public static class Datasource {
+		
+		private String url;
+		private String username = "sa";
+		private String password = "";
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
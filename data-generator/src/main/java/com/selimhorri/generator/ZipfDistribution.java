@@ -0,0 +1,53 @@
+package com.selimhorri.generator;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Draws ids 1..n with P(rank k) proportional to 1 / k^exponent. Ranks are mapped onto a shuffled id order,
+ * otherwise the most popular rows would always be the lowest ids and sit in the same index pages.
+ */
+public class ZipfDistribution {
+	
+	private final double[] cdf;
+	private final int[] ids;
+	
+	public ZipfDistribution(final int n, final double exponent, final Random random) {
+		if (n < 1)
+			throw new IllegalArgumentException("Zipf distribution needs at least one element");
+		this.cdf = new double[n];
+		double sum = 0;
+		for (int k = 0; k < n; k++) {
+			sum += exponent == 0 ? 1 : 1 / Math.pow(k + 1, exponent);
+			this.cdf[k] = sum;
+		}
+		for (int k = 0; k < n; k++)
+			this.cdf[k] /= sum;
+		this.ids = new int[n];
+		for (int k = 0; k < n; k++)
+			this.ids[k] = k + 1;
+		for (int k = n - 1; k > 0; k--) {
+			final int j = random.nextInt(k + 1);
+			final int id = this.ids[k];
+			this.ids[k] = this.ids[j];
+			this.ids[j] = id;
+		}
+	}
+	
+	public int sample(final Random random) {
+		final int index = Arrays.binarySearch(this.cdf, random.nextDouble());
+		final int rank = index >= 0 ? index : -index - 1;
+		return this.ids[Math.min(rank, this.ids.length - 1)];
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,42 @@
+package com.selimhorri.generator.runner;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.generator.DataGenerator;
+import com.selimhorri.generator.GeneratorProperties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DataGeneratorRunner implements ApplicationRunner {
+	
+	private final GeneratorProperties properties;
+	
+	@Override
+	public void run(final ApplicationArguments args) throws Exception {
+		final var generator = new DataGenerator(this.properties);
+		final long start = System.nanoTime();
+		for (final String service : this.properties.getServices()) {
+			log.info("*** Generating {} into {} *", service, this.properties.datasource(service).getUrl());
+			generator.generate(service);
+		}
+		log.info("*** Generated {} services in {} s *", this.properties.getServices().size(),
+				(System.nanoTime() - start) / 1_000_000_000);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -52,6 +52,12 @@ public class FavouriteDto implements Serializable {
 	@JsonInclude(Include.NON_NULL)
 	private ProductDto productDto;
 	
+	/**
+	 * Set when part of the enrichment was served from a snapshot or a stub because a downstream was unavailable.
+	 */
+	@JsonInclude(Include.NON_NULL)
+	private Boolean degraded;
+	
 }
 
 
@@ -2,6 +2,7 @@ package com.selimhorri.app.resource;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
@@ -50,6 +51,25 @@ public class FavouriteResource {
 						LocalDateTime.parse(likeDate, DateTimeFormatter.ofPattern(AppConstant.LOCAL_DATE_TIME_FORMAT)))));
 	}
 	
+	@GetMapping("/async")
+	public CompletableFuture<ResponseEntity<DtoCollectionResponse<FavouriteDto>>> findAllAsync() {
+		log.info("*** FavouriteDto List, controller; fetch all favourites asynchronously *");
+		return this.favouriteService.findAllAsync()
+				.thenApply(favouriteDtos -> ResponseEntity.ok(new DtoCollectionResponse<>(favouriteDtos)));
+	}
+	
+	@GetMapping("/async/{userId}/{productId}/{likeDate}")
+	public CompletableFuture<ResponseEntity<FavouriteDto>> findByIdAsync(
+			@PathVariable("userId") final String userId, 
+			@PathVariable("productId") final String productId, 
+			@PathVariable("likeDate") final String likeDate) {
+		log.info("*** FavouriteDto, resource; fetch favourite by id asynchronously *");
+		return this.favouriteService.findByIdAsync(
+				new FavouriteId(Integer.parseInt(userId), Integer.parseInt(productId), 
+						LocalDateTime.parse(likeDate, DateTimeFormatter.ofPattern(AppConstant.LOCAL_DATE_TIME_FORMAT))))
+				.thenApply(ResponseEntity::ok);
+	}
+	
 	@GetMapping("/find")
 	public ResponseEntity<FavouriteDto> findById(
 			@RequestBody 
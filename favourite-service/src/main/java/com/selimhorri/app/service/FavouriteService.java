@@ -1,6 +1,7 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
@@ -13,4 +14,7 @@ public interface FavouriteService {
 	FavouriteDto update(final FavouriteDto favouriteDto);
 	void deleteById(final FavouriteId favouriteId);
 	
+	CompletableFuture<List<FavouriteDto>> findAllAsync();
+	CompletableFuture<FavouriteDto> findByIdAsync(final FavouriteId favouriteId);
+	
 }
@@ -1,6 +1,7 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
@@ -17,6 +18,9 @@ import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
 import com.selimhorri.app.helper.FavouriteMappingHelper;
 import com.selimhorri.app.repository.FavouriteRepository;
 import com.selimhorri.app.service.FavouriteService;
+import com.selimhorri.commons.bulkhead.DownstreamBulkheads;
+import com.selimhorri.commons.resilience.Enriched;
+import com.selimhorri.commons.resilience.EnrichmentGuard;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +33,8 @@ public class FavouriteServiceImpl implements FavouriteService {
 	
 	private final FavouriteRepository favouriteRepository;
 	private final RestTemplate restTemplate;
+	private final EnrichmentGuard enrichmentGuard;
+	private final DownstreamBulkheads bulkheads;
 	
 	@Override
 	public List<FavouriteDto> findAll() {
@@ -36,15 +42,7 @@ public class FavouriteServiceImpl implements FavouriteService {
 		return this.favouriteRepository.findAll()
 				.stream()
 					.map(FavouriteMappingHelper::map)
-					.map(f -> {
-						f.setUserDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-						f.setProductDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
-						return f;
-					})
+					.map(this::enrich)
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
@@ -54,15 +52,7 @@ public class FavouriteServiceImpl implements FavouriteService {
 		log.info("*** FavouriteDto, service; fetch favourite by id *");
 		return this.favouriteRepository.findById(favouriteId)
 				.map(FavouriteMappingHelper::map)
-				.map(f -> {
-					f.setUserDto(this.restTemplate
-							.getForObject(AppConstant.DiscoveredDomainsApi
-									.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-					f.setProductDto(this.restTemplate
-							.getForObject(AppConstant.DiscoveredDomainsApi
-									.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
-					return f;
-				})
+				.map(this::enrich)
 				.orElseThrow(() -> new FavouriteNotFoundException(
 						String.format("Favourite with id: [%s] not found!", favouriteId)));
 	}
@@ -84,6 +74,81 @@ public class FavouriteServiceImpl implements FavouriteService {
 		this.favouriteRepository.deleteById(favouriteId);
 	}
 	
+	@Override
+	public CompletableFuture<List<FavouriteDto>> findAllAsync() {
+		log.info("*** FavouriteDto List, service; fetch all favourites asynchronously *");
+		final List<FavouriteDto> favourites = this.favouriteRepository.findAll()
+				.stream()
+					.map(FavouriteMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+		return this.bulkheads.fanOut("userService", favourites.stream()
+						.map(FavouriteDto::getUserId)
+						.collect(Collectors.toUnmodifiableList()), this::fetchUserAsync)
+				.thenCombine(this.bulkheads.fanOut("productService", favourites.stream()
+						.map(FavouriteDto::getProductId)
+						.collect(Collectors.toUnmodifiableList()), this::fetchProductAsync),
+						(users, products) -> favourites.stream()
+								.map(f -> this.enriched(f, users.get(f.getUserId()), products.get(f.getProductId())))
+								.distinct()
+								.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	@Override
+	public CompletableFuture<FavouriteDto> findByIdAsync(final FavouriteId favouriteId) {
+		log.info("*** FavouriteDto, service; fetch favourite by id asynchronously *");
+		return this.favouriteRepository.findById(favouriteId)
+				.map(FavouriteMappingHelper::map)
+				.map(this::enrichAsync)
+				.orElseThrow(() -> new FavouriteNotFoundException(
+						String.format("Favourite with id: [%s] not found!", favouriteId)));
+	}
+	
+	private FavouriteDto enrich(final FavouriteDto favouriteDto) {
+		final Integer userId = favouriteDto.getUserId();
+		final Integer productId = favouriteDto.getProductId();
+		return this.enriched(favouriteDto,
+				this.enrichmentGuard.fetchHedged("userService", "USER-SERVICE", userId,
+						() -> this.fetchUser(userId), () -> UserDto.builder().userId(userId).build()),
+				this.enrichmentGuard.fetchHedged("productService", "PRODUCT-SERVICE", productId,
+						() -> this.fetchProduct(productId), () -> ProductDto.builder().productId(productId).build()));
+	}
+	
+	private CompletableFuture<FavouriteDto> enrichAsync(final FavouriteDto favouriteDto) {
+		return this.fetchUserAsync(favouriteDto.getUserId())
+				.thenCombine(this.fetchProductAsync(favouriteDto.getProductId()),
+						(user, product) -> this.enriched(favouriteDto, user, product));
+	}
+	
+	private CompletableFuture<Enriched<UserDto>> fetchUserAsync(final Integer userId) {
+		return this.enrichmentGuard.fetchHedgedAsync("userService", "USER-SERVICE", userId,
+				() -> this.fetchUser(userId), () -> UserDto.builder().userId(userId).build());
+	}
+	
+	private CompletableFuture<Enriched<ProductDto>> fetchProductAsync(final Integer productId) {
+		return this.enrichmentGuard.fetchHedgedAsync("productService", "PRODUCT-SERVICE", productId,
+				() -> this.fetchProduct(productId), () -> ProductDto.builder().productId(productId).build());
+	}
+	
+	private UserDto fetchUser(final Integer userId) {
+		return this.restTemplate
+				.getForObject(AppConstant.DiscoveredDomainsApi
+						.USER_SERVICE_API_URL + "/" + userId, UserDto.class);
+	}
+	
+	private ProductDto fetchProduct(final Integer productId) {
+		return this.restTemplate
+				.getForObject(AppConstant.DiscoveredDomainsApi
+						.PRODUCT_SERVICE_API_URL + "/" + productId, ProductDto.class);
+	}
+	
+	private FavouriteDto enriched(final FavouriteDto favouriteDto, final Enriched<UserDto> user, final Enriched<ProductDto> product) {
+		favouriteDto.setUserDto(user.getValue());
+		favouriteDto.setProductDto(product.getValue());
+		favouriteDto.setDegraded(user.isDegraded() || product.isDegraded() ? Boolean.TRUE : null);
+		return favouriteDto;
+	}
+	
+	
 	
 	
 }
@@ -0,0 +1,29 @@
+package com.selimhorri.app;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+
+import com.selimhorri.app.config.LoadTestProperties;
+
+@SpringBootApplication
+@EnableConfigurationProperties(LoadTestProperties.class)
+public class LoadTestApplication {
+	
+	public static void main(String[] args) {
+		System.exit(SpringApplication.exit(SpringApplication.run(LoadTestApplication.class, args)));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,96 @@
+package com.selimhorri.app.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.load-test")
+public class LoadTestProperties {
+	
+	/**
+	 * Checkout root, each service jar is read from {@code <module>/target}.
+	 */
+	private Path projectDir = Path.of(".");
+	
+	/**
+	 * Databases, service logs and the report go here, the databases are recreated on every run.
+	 */
+	private Path workDir = Path.of("target", "load-test");
+	
+	/**
+	 * Carts, orders, payments and favourites seeded, with one to five order items per order
+	 * and a tenth of that for users and products, popular products drawn with a Zipf skew.
+	 */
+	private int scale = 1_000;
+	
+	/**
+	 * Requests per second sent to each endpoint, at a fixed rate whatever the response times.
+	 */
+	private int rate = 2;
+	private Duration warmup = Duration.ofSeconds(15);
+	private Duration duration = Duration.ofSeconds(60);
+	private Duration requestTimeout = Duration.ofSeconds(30);
+	private Duration startupTimeout = Duration.ofMinutes(5);
+	
+	private List<String> jvmOptions = new ArrayList<>(List.of("-Xms256m", "-Xmx512m"));
+	
+	/**
+	 * Extra arguments passed to every service, on top of the port, datasource and discovery ones.
+	 */
+	private List<String> serviceArguments = new ArrayList<>();
+	
+	private List<Service> services = new ArrayList<>();
+	private List<Endpoint> endpoints = new ArrayList<>();
+	
+	/**
+	 * report.csv of an earlier run, the run fails when a percentile or the error rate got worse than allowed.
+	 */
+	private Path baseline;
+	
+	/**
+	 * Allowed p50/p99 growth over the baseline, 0.25 = 25%.
+	 */
+	private double tolerance = 0.25;
+	
+	/**
+	 * Allowed error rate growth over the baseline, in absolute terms.
+	 */
+	private double errorRateTolerance = 0.01;
+	
+	@Data
+	public static class Service {
+		
+		/**
+		 * Maven module, also the context path; the discovery id is the upper-cased name.
+		 */
+		private String name;
+		private int port;
+		
+	}
+	
+	@Data
+	public static class Endpoint {
+		
+		private String name;
+		private String service;
+		private String path;
+		
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
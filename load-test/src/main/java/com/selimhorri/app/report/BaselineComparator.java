@@ -0,0 +1,71 @@
+package com.selimhorri.app.report;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.config.LoadTestProperties;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Compares a run with the report.csv of an earlier one, endpoints missing on either side are skipped.
+ */
+@Component
+@RequiredArgsConstructor
+public class BaselineComparator {
+	
+	private final LoadTestProperties properties;
+	
+	public List<String> compare(final List<EndpointResult> results) throws IOException {
+		if (this.properties.getBaseline() == null)
+			return List.of();
+		final var lines = Files.readAllLines(this.properties.getBaseline());
+		final var header = Arrays.asList(lines.get(0).split(","));
+		final Map<String, String[]> baseline = lines.stream()
+				.skip(1)
+				.filter(line -> !line.isBlank())
+				.map(line -> line.split(","))
+				.collect(Collectors.toMap(row -> row[0], Function.identity()));
+		
+		final List<String> regressions = new ArrayList<>();
+		for (final EndpointResult result : results) {
+			final var row = baseline.get(result.getName());
+			if (row == null)
+				continue;
+			final Function<String, Double> base = column -> Double.parseDouble(row[header.indexOf(column)]);
+			this.checkLatency(regressions, result.getName(), "p50", result.percentileMillis(50), base.apply("p50_ms"));
+			this.checkLatency(regressions, result.getName(), "p99", result.percentileMillis(99), base.apply("p99_ms"));
+			if (result.errorRate() > base.apply("error_rate") + this.properties.getErrorRateTolerance())
+				regressions.add(String.format(Locale.ROOT, "%s error rate %.2f%% against %.2f%%",
+						result.getName(), result.errorRate() * 100, base.apply("error_rate") * 100));
+		}
+		return regressions;
+	}
+	
+	private void checkLatency(final List<String> regressions, final String endpoint, final String percentile,
+			final double current, final double baseline) {
+		if (baseline > 0 && current > baseline * (1 + this.properties.getTolerance()))
+			regressions.add(String.format(Locale.ROOT, "%s %s %.1f ms against %.1f ms (+%.0f%%)",
+					endpoint, percentile, current, baseline, (current / baseline - 1) * 100));
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,53 @@
+package com.selimhorri.app.report;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Measured window of one endpoint, latencies in microseconds from the scheduled send time.
+ */
+@Value
+@Builder
+public class EndpointResult {
+	
+	String name;
+	String url;
+	int rate;
+	Duration duration;
+	long sent;
+	long succeeded;
+	Map<String, Long> errors;
+	Histogram histogram;
+	
+	public long failed() {
+		return this.sent - this.succeeded;
+	}
+	
+	public double errorRate() {
+		return this.sent == 0 ? 0 : (double) this.failed() / this.sent;
+	}
+	
+	public double throughput() {
+		return this.succeeded / (this.duration.toNanos() / 1e9);
+	}
+	
+	public double percentileMillis(final double percentile) {
+		return this.histogram.getTotalCount() == 0 ? 0 : this.histogram.getValueAtPercentile(percentile) / 1_000.0;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,93 @@
+package com.selimhorri.app.report;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.config.LoadTestProperties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes report.md for people, report.csv for the next run's baseline and one HdrHistogram
+ * percentile distribution (.hgrm, milliseconds) per endpoint for plotting.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReportWriter {
+	
+	private static final String CSV_HEADER = "endpoint,scale,rate,sent,succeeded,failed,error_rate,throughput,p50_ms,p90_ms,p99_ms,p999_ms,max_ms";
+	
+	private final LoadTestProperties properties;
+	
+	public Path write(final List<EndpointResult> results, final List<String> regressions) throws IOException {
+		final var dir = this.properties.getWorkDir();
+		Files.createDirectories(dir);
+		
+		final var csv = results.stream()
+				.map(r -> String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%.4f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f",
+						r.getName(), this.properties.getScale(), r.getRate(), r.getSent(), r.getSucceeded(), r.failed(),
+						r.errorRate(), r.throughput(), r.percentileMillis(50), r.percentileMillis(90),
+						r.percentileMillis(99), r.percentileMillis(99.9), r.percentileMillis(100)))
+				.collect(Collectors.joining("\n", CSV_HEADER + "\n", "\n"));
+		Files.writeString(dir.resolve("report.csv"), csv);
+		
+		for (final EndpointResult result : results)
+			try (final var out = new PrintStream(dir.resolve(result.getName() + ".hgrm").toFile())) {
+				result.getHistogram().outputPercentileDistribution(out, 1_000.0);
+			}
+		
+		final var report = dir.resolve("report.md");
+		Files.writeString(report, this.markdown(results, regressions));
+		log.info("*** Report written to {} *", report.toAbsolutePath());
+		return report;
+	}
+	
+	private String markdown(final List<EndpointResult> results, final List<String> regressions) {
+		final var md = new StringBuilder()
+				.append("# Load test report\n\n")
+				.append(String.format(Locale.ROOT,
+						"%s, %d rows per table, %d req/s per endpoint, %s warm-up, %s measured, %s request timeout\n\n",
+						ZonedDateTime.now(), this.properties.getScale(), this.properties.getRate(),
+						this.properties.getWarmup(), this.properties.getDuration(), this.properties.getRequestTimeout()))
+				.append("| endpoint | sent | ok | errors | ok/s | p50 ms | p90 ms | p99 ms | p99.9 ms | max ms |\n")
+				.append("|---|---:|---:|---:|---:|---:|---:|---:|---:|---:|\n");
+		results.forEach(r -> md.append(String.format(Locale.ROOT,
+				"| %s | %d | %d | %d | %.1f | %.1f | %.1f | %.1f | %.1f | %.1f |\n",
+				r.getName(), r.getSent(), r.getSucceeded(), r.failed(), r.throughput(), r.percentileMillis(50),
+				r.percentileMillis(90), r.percentileMillis(99), r.percentileMillis(99.9), r.percentileMillis(100))));
+		
+		final var failing = results.stream().filter(r -> !r.getErrors().isEmpty()).collect(Collectors.toList());
+		if (!failing.isEmpty()) {
+			md.append("\n## Errors\n\n");
+			failing.forEach(r -> md.append("- ").append(r.getName()).append(": ").append(r.getErrors()).append('\n'));
+		}
+		if (this.properties.getBaseline() != null) {
+			md.append("\n## Against ").append(this.properties.getBaseline()).append("\n\n");
+			if (regressions.isEmpty())
+				md.append("No regression.\n");
+			regressions.forEach(r -> md.append("- ").append(r).append('\n'));
+		}
+		return md.toString();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,80 @@
+package com.selimhorri.app.runner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import com.selimhorri.app.config.LoadTestProperties;
+import com.selimhorri.app.config.LoadTestProperties.Endpoint;
+import com.selimhorri.app.config.LoadTestProperties.Service;
+import com.selimhorri.app.report.BaselineComparator;
+import com.selimhorri.app.report.EndpointResult;
+import com.selimhorri.app.report.ReportWriter;
+import com.selimhorri.app.service.DataSeeder;
+import com.selimhorri.app.service.LoadGenerator;
+import com.selimhorri.app.service.ServiceLauncher;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Starts the services, seeds them, drives every endpoint in turn (one at a time so they do not skew
+ * each other) and writes the report. Exits with 1 when a baseline is given and a regression is found.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoadTestRunner implements ApplicationRunner, ExitCodeGenerator {
+	
+	private final LoadTestProperties properties;
+	private final ServiceLauncher launcher;
+	private final DataSeeder seeder;
+	private final LoadGenerator generator;
+	private final BaselineComparator comparator;
+	private final ReportWriter writer;
+	private int exitCode;
+	
+	@Override
+	public void run(final ApplicationArguments args) throws Exception {
+		FileSystemUtils.deleteRecursively(this.properties.getWorkDir().resolve("db"));
+		try {
+			this.launcher.startAll();
+			for (final Service service : this.properties.getServices())
+				this.seeder.seed(service.getName(), this.launcher.jdbcUrl(service.getName()));
+			
+			final List<EndpointResult> results = new ArrayList<>();
+			for (final Endpoint endpoint : this.properties.getEndpoints())
+				results.add(this.generator.run(endpoint.getName(),
+						this.launcher.uri(endpoint.getService(), endpoint.getPath())));
+			
+			final var regressions = this.comparator.compare(results);
+			this.writer.write(results, regressions);
+			regressions.forEach(r -> log.warn("*** Regression: {} *", r));
+			this.exitCode = regressions.isEmpty() ? 0 : 1;
+		}
+		finally {
+			this.launcher.stopAll();
+		}
+	}
+	
+	@Override
+	public int getExitCode() {
+		return this.exitCode;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,53 @@
+package com.selimhorri.app.service;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.config.LoadTestProperties;
+import com.selimhorri.generator.DataGenerator;
+import com.selimhorri.generator.GeneratorProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replaces the Flyway seed rows with generated ones sized from {@code scale}, every foreign id
+ * pointing at a row that exists in the owning service.
+ */
+@Slf4j
+@Component
+public class DataSeeder {
+	
+	private final DataGenerator generator;
+	
+	public DataSeeder(final LoadTestProperties properties) {
+		final int scale = properties.getScale();
+		final var generatorProperties = new GeneratorProperties();
+		generatorProperties.setUsers(Math.max(10, scale / 10));
+		generatorProperties.setProducts(Math.max(10, scale / 10));
+		generatorProperties.setCategories(Math.max(5, scale / 1_000));
+		generatorProperties.setCarts(scale);
+		generatorProperties.setOrders(scale);
+		generatorProperties.setFavourites(scale);
+		this.generator = new DataGenerator(generatorProperties);
+	}
+	
+	public void seed(final String service, final String jdbcUrl) throws SQLException {
+		log.info("*** Seeding {} *", service);
+		try (final var connection = DriverManager.getConnection(jdbcUrl, "sa", "")) {
+			this.generator.generate(service, connection);
+		}
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
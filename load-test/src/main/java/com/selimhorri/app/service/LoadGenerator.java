@@ -0,0 +1,135 @@
+package com.selimhorri.app.service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.config.LoadTestProperties;
+import com.selimhorri.app.report.EndpointResult;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Open-model load: requests leave on a fixed schedule whether or not earlier ones completed, and latency
+ * is taken from the scheduled send time, so a stalled service shows up in the tail instead of
+ * slowing the generator down (coordinated omission).
+ */
+@Slf4j
+@Component
+public class LoadGenerator implements DisposableBean {
+	
+	private final LoadTestProperties properties;
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	private final HttpClient client;
+	
+	public LoadGenerator(final LoadTestProperties properties) {
+		this.properties = properties;
+		this.client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(5))
+				.executor(this.executor)
+				.build();
+	}
+	
+	public EndpointResult run(final String name, final URI uri) {
+		log.info("*** {}: warming up for {} at {} req/s *", name, this.properties.getWarmup(), this.properties.getRate());
+		this.drive(uri, this.properties.getWarmup(), new Recorder(3), new ConcurrentHashMap<>());
+		
+		log.info("*** {}: measuring for {} *", name, this.properties.getDuration());
+		final var recorder = new Recorder(3);
+		final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+		final long sent = this.drive(uri, this.properties.getDuration(), recorder, errors);
+		final var histogram = recorder.getIntervalHistogram();
+		final var failures = errors.entrySet().stream()
+				.collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().sum()));
+		return EndpointResult.builder()
+				.name(name)
+				.url(uri.toString())
+				.rate(this.properties.getRate())
+				.duration(this.properties.getDuration())
+				.sent(sent)
+				.succeeded(histogram.getTotalCount())
+				.errors(failures)
+				.histogram(histogram)
+				.build();
+	}
+	
+	private long drive(final URI uri, final Duration duration, final Recorder recorder,
+			final Map<String, LongAdder> errors) {
+		final var request = HttpRequest.newBuilder(uri)
+				.timeout(this.properties.getRequestTimeout())
+				.header("Accept", "application/json")
+				.header("Accept-Encoding", "gzip")
+				.GET()
+				.build();
+		final long interval = TimeUnit.SECONDS.toNanos(1) / this.properties.getRate();
+		final long count = duration.toNanos() / interval;
+		final long start = System.nanoTime();
+		final List<CompletableFuture<?>> inFlight = new ArrayList<>();
+		for (long i = 0; i < count; i++) {
+			final long scheduled = start + i * interval;
+			long wait;
+			while ((wait = scheduled - System.nanoTime()) > 0)
+				LockSupport.parkNanos(wait);
+			inFlight.add(this.client.sendAsync(request, BodyHandlers.discarding())
+					.handle((response, error) -> {
+						record(scheduled, response, error, recorder, errors);
+						return null;
+					}));
+		}
+		CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+		return count;
+	}
+	
+	private static void record(final long scheduled, final HttpResponse<?> response, final Throwable error,
+			final Recorder recorder, final Map<String, LongAdder> errors) {
+		final long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled);
+		if (error != null)
+			errors.computeIfAbsent(errorKey(error), k -> new LongAdder()).increment();
+		else if (response.statusCode() / 100 != 2)
+			errors.computeIfAbsent("http_" + response.statusCode(), k -> new LongAdder()).increment();
+		else
+			recorder.recordValue(micros);
+	}
+	
+	private static String errorKey(final Throwable error) {
+		final var cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+		return cause instanceof HttpTimeoutException ? "timeout" : cause.getClass().getSimpleName();
+	}
+	
+	@Override
+	public void destroy() {
+		this.executor.shutdownNow();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
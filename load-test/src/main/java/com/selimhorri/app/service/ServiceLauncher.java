@@ -0,0 +1,156 @@
+package com.selimhorri.app.service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+
+import com.selimhorri.app.config.LoadTestProperties;
+import com.selimhorri.app.config.LoadTestProperties.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs each service from its bootable jar in a child JVM on the dev profile, with a file-backed H2
+ * database the seeder can reach (AUTO_SERVER) and simple discovery instead of Eureka.
+ * The services cannot share this JVM, each one has its own com.selimhorri.app classes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ServiceLauncher {
+	
+	private final LoadTestProperties properties;
+	private final List<Process> processes = new ArrayList<>();
+	
+	public void startAll() throws IOException, InterruptedException {
+		Files.createDirectories(this.properties.getWorkDir().resolve("logs"));
+		for (final Service service : this.properties.getServices()) {
+			final var process = this.start(service);
+			this.processes.add(process);
+			this.awaitHealthy(service, process);
+		}
+	}
+	
+	public String jdbcUrl(final String service) {
+		return "jdbc:h2:file:" + this.properties.getWorkDir().resolve("db").resolve(service).toAbsolutePath()
+				+ ";AUTO_SERVER=TRUE;DB_CLOSE_ON_EXIT=FALSE";
+	}
+	
+	public URI uri(final String service, final String path) {
+		final int port = this.properties.getServices().stream()
+				.filter(s -> s.getName().equals(service))
+				.findFirst()
+				.map(Service::getPort)
+				.orElseThrow(() -> new IllegalArgumentException("Unknown service: " + service));
+		return URI.create("http://localhost:" + port + "/" + service + path);
+	}
+	
+	private Process start(final Service service) throws IOException {
+		final List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(this.properties.getJvmOptions());
+		command.add("-jar");
+		command.add(this.jar(service.getName()).toString());
+		command.add("--spring.profiles.active=dev");
+		command.add("--server.port=" + service.getPort());
+		command.add("--spring.datasource.url=" + this.jdbcUrl(service.getName()));
+		command.add("--eureka.client.enabled=false");
+		command.add("--spring.zipkin.enabled=false");
+		this.properties.getServices().forEach(s -> command.add(String.format(
+				"--spring.cloud.discovery.client.simple.instances.%s[0].uri=http://localhost:%d",
+				s.getName().toUpperCase(), s.getPort())));
+		command.addAll(this.properties.getServiceArguments());
+		
+		final var logFile = this.properties.getWorkDir().resolve("logs").resolve(service.getName() + ".log").toFile();
+		log.info("*** Starting {} on port {}, log in {} *", service.getName(), service.getPort(), logFile);
+		final var processBuilder = new ProcessBuilder(command);
+		// no config server here, <work-dir>/<service>.yml can carry per-service overrides instead
+		processBuilder.environment().put("SPRING_CONFIG_IMPORT", "optional:file:"
+				+ this.properties.getWorkDir().resolve(service.getName() + ".yml").toAbsolutePath());
+		return processBuilder
+				.redirectErrorStream(true)
+				.redirectOutput(logFile)
+				.start();
+	}
+	
+	private Path jar(final String module) throws IOException {
+		final var target = this.properties.getProjectDir().resolve(module).resolve("target");
+		try (Stream<Path> files = Files.list(target)) {
+			return files
+					.filter(f -> f.getFileName().toString().matches(module + "-v.*\\.jar"))
+					.filter(f -> !f.getFileName().toString().endsWith("-classes.jar"))
+					.findFirst()
+					.orElseThrow(() -> new IllegalStateException(String
+							.format("No bootable jar in %s, run ./mvnw package first", target.toAbsolutePath())));
+		}
+	}
+	
+	private void awaitHealthy(final Service service, final Process process) throws InterruptedException {
+		final var client = HttpClient.newBuilder()
+				.connectTimeout(Duration.ofSeconds(2))
+				.build();
+		final var request = HttpRequest.newBuilder(this.uri(service.getName(), "/actuator/health"))
+				.timeout(Duration.ofSeconds(5))
+				.build();
+		final long deadline = System.nanoTime() + this.properties.getStartupTimeout().toNanos();
+		while (System.nanoTime() < deadline) {
+			if (!process.isAlive())
+				throw new IllegalStateException(String.format("%s exited with %d during startup, see its log",
+						service.getName(), process.exitValue()));
+			try {
+				if (client.send(request, BodyHandlers.discarding()).statusCode() == 200) {
+					log.info("*** {} is up *", service.getName());
+					return;
+				}
+			}
+			catch (IOException e) {
+				// not listening yet
+			}
+			TimeUnit.SECONDS.sleep(1);
+		}
+		throw new IllegalStateException(String.format("%s not healthy after %s", service.getName(),
+				this.properties.getStartupTimeout()));
+	}
+	
+	public void stopAll() {
+		this.processes.forEach(Process::destroy);
+		for (final Process process : this.processes) {
+			try {
+				if (!process.waitFor(30, TimeUnit.SECONDS))
+					process.destroyForcibly();
+			}
+			catch (InterruptedException e) {
+				process.destroyForcibly();
+				Thread.currentThread().interrupt();
+			}
+		}
+		log.info("*** Stopped {} *", this.properties.getServices().stream()
+				.map(Service::getName)
+				.collect(Collectors.joining(", ")));
+		this.processes.clear();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -30,6 +30,12 @@ public class CartDto implements Serializable {
 	@JsonInclude(Include.NON_NULL)
 	private UserDto userDto;
 	
+	/**
+	 * Set when part of the enrichment was served from a snapshot or a stub because a downstream was unavailable.
+	 */
+	@JsonInclude(Include.NON_NULL)
+	private Boolean degraded;
+	
 }
 
 
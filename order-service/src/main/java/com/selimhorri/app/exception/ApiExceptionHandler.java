@@ -10,10 +10,12 @@ import org.springframework.validation.BindException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
 import com.selimhorri.app.exception.payload.ExceptionMsg;
 import com.selimhorri.app.exception.wrapper.CartNotFoundException;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
+import com.selimhorri.commons.deadline.DeadlineExceededException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -60,6 +62,36 @@ public class ApiExceptionHandler {
 					.build(), badRequest);
 	}
 	
+	@ExceptionHandler(value = DeadlineExceededException.class)
+	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleDeadlineExceededException(final T e) {
+		
+		log.info("**ApiExceptionHandler controller, handle deadline exceeded*\n");
+		final var gatewayTimeout = HttpStatus.GATEWAY_TIMEOUT;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg(e.getMessage())
+					.httpStatus(gatewayTimeout)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), gatewayTimeout);
+	}
+	
+	@ExceptionHandler(value = AsyncRequestTimeoutException.class)
+	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleAsyncRequestTimeoutException(final T e) {
+		
+		log.info("**ApiExceptionHandler controller, handle async request timeout*\n");
+		final var gatewayTimeout = HttpStatus.GATEWAY_TIMEOUT;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg("#### Request timed out waiting for downstream services! ####")
+					.httpStatus(gatewayTimeout)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), gatewayTimeout);
+	}
+	
 	
 	
 }
@@ -1,11 +1,16 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.selimhorri.app.domain.Order;
 
 public interface OrderRepository extends JpaRepository<Order, Integer> {
 	
-	
+	@Override
+	@EntityGraph(attributePaths = "cart")
+	List<Order> findAll();
 	
 }
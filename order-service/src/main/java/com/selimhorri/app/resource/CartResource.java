@@ -1,5 +1,7 @@
 package com.selimhorri.app.resource;
 
+import java.util.concurrent.CompletableFuture;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -44,6 +46,23 @@ public class CartResource {
 		return ResponseEntity.ok(this.cartService.findById(Integer.parseInt(cartId)));
 	}
 	
+	@GetMapping("/async")
+	public CompletableFuture<ResponseEntity<DtoCollectionResponse<CartDto>>> findAllAsync() {
+		log.info("*** CartDto List, controller; fetch all carts asynchronously *");
+		return this.cartService.findAllAsync()
+				.thenApply(cartDtos -> ResponseEntity.ok(new DtoCollectionResponse<>(cartDtos)));
+	}
+	
+	@GetMapping("/async/{cartId}")
+	public CompletableFuture<ResponseEntity<CartDto>> findByIdAsync(
+			@PathVariable("cartId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String cartId) {
+		log.info("*** CartDto, resource; fetch cart by id asynchronously *");
+		return this.cartService.findByIdAsync(Integer.parseInt(cartId))
+				.thenApply(ResponseEntity::ok);
+	}
+	
 	@PostMapping
 	public ResponseEntity<CartDto> save(
 			@RequestBody 
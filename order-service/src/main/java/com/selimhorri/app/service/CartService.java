@@ -1,6 +1,7 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import com.selimhorri.app.dto.CartDto;
 
@@ -13,4 +14,7 @@ public interface CartService {
 	CartDto update(final Integer cartId, final CartDto cartDto);
 	void deleteById(final Integer cartId);
 	
+	CompletableFuture<List<CartDto>> findAllAsync();
+	CompletableFuture<CartDto> findByIdAsync(final Integer cartId);
+	
 }
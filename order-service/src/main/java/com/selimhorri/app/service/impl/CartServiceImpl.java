@@ -1,6 +1,7 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
@@ -15,6 +16,9 @@ import com.selimhorri.app.exception.wrapper.CartNotFoundException;
 import com.selimhorri.app.helper.CartMappingHelper;
 import com.selimhorri.app.repository.CartRepository;
 import com.selimhorri.app.service.CartService;
+import com.selimhorri.commons.bulkhead.DownstreamBulkheads;
+import com.selimhorri.commons.resilience.Enriched;
+import com.selimhorri.commons.resilience.EnrichmentGuard;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +31,8 @@ public class CartServiceImpl implements CartService {
 	
 	private final CartRepository cartRepository;
 	private final RestTemplate restTemplate;
+	private final EnrichmentGuard enrichmentGuard;
+	private final DownstreamBulkheads bulkheads;
 	
 	@Override
 	public List<CartDto> findAll() {
@@ -34,11 +40,7 @@ public class CartServiceImpl implements CartService {
 		return this.cartRepository.findAll()
 				.stream()
 					.map(CartMappingHelper::map)
-					.map(c -> {
-						c.setUserDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.USER_SERVICE_API_URL + "/" + c.getUserDto().getUserId(), UserDto.class));
-						return c;
-					})
+					.map(this::enrich)
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
@@ -48,11 +50,7 @@ public class CartServiceImpl implements CartService {
 		log.info("*** CartDto, service; fetch cart by id *");
 		return this.cartRepository.findById(cartId)
 				.map(CartMappingHelper::map)
-				.map(c -> {
-					c.setUserDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.USER_SERVICE_API_URL + "/" + c.getUserDto().getUserId(), UserDto.class));
-					return c;
-				})
+				.map(this::enrich)
 				.orElseThrow(() -> new CartNotFoundException(String
 						.format("Cart with id: %d not found", cartId)));
 	}
@@ -84,6 +82,61 @@ public class CartServiceImpl implements CartService {
 		this.cartRepository.deleteById(cartId);
 	}
 	
+	@Override
+	public CompletableFuture<List<CartDto>> findAllAsync() {
+		log.info("*** CartDto List, service; fetch all carts asynchronously *");
+		final List<CartDto> carts = this.cartRepository.findAll()
+				.stream()
+					.map(CartMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+		return this.bulkheads.fanOut("userService", carts.stream()
+						.map(c -> c.getUserDto().getUserId())
+						.collect(Collectors.toUnmodifiableList()), this::fetchUserAsync)
+				.thenApply(users -> carts.stream()
+						.map(c -> this.enriched(c, users.get(c.getUserDto().getUserId())))
+						.distinct()
+						.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	@Override
+	public CompletableFuture<CartDto> findByIdAsync(final Integer cartId) {
+		log.info("*** CartDto, service; fetch cart by id asynchronously *");
+		return this.cartRepository.findById(cartId)
+				.map(CartMappingHelper::map)
+				.map(this::enrichAsync)
+				.orElseThrow(() -> new CartNotFoundException(String
+						.format("Cart with id: %d not found", cartId)));
+	}
+	
+	private CartDto enrich(final CartDto cartDto) {
+		final Integer userId = cartDto.getUserDto().getUserId();
+		return this.enriched(cartDto, this.enrichmentGuard.fetchHedged("userService", "USER-SERVICE", userId,
+				() -> this.fetchUser(userId), () -> UserDto.builder().userId(userId).build()));
+	}
+	
+	private CompletableFuture<CartDto> enrichAsync(final CartDto cartDto) {
+		return this.fetchUserAsync(cartDto.getUserDto().getUserId())
+				.thenApply(user -> this.enriched(cartDto, user));
+	}
+	
+	private CompletableFuture<Enriched<UserDto>> fetchUserAsync(final Integer userId) {
+		return this.enrichmentGuard.fetchHedgedAsync("userService", "USER-SERVICE", userId,
+				() -> this.fetchUser(userId), () -> UserDto.builder().userId(userId).build());
+	}
+	
+	private UserDto fetchUser(final Integer userId) {
+		return this.restTemplate
+				.getForObject(AppConstant.DiscoveredDomainsApi
+						.USER_SERVICE_API_URL + "/" + userId, UserDto.class);
+	}
+	
+	private CartDto enriched(final CartDto cartDto, final Enriched<UserDto> user) {
+		cartDto.setUserDto(user.getValue());
+		cartDto.setDegraded(user.isDegraded() ? Boolean.TRUE : null);
+		return cartDto;
+	}
+	
+	
 	
 	
 }
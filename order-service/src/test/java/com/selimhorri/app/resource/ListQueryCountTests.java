@@ -0,0 +1,23 @@
+package com.selimhorri.app.resource;
+
+import java.util.List;
+
+import com.selimhorri.commons.test.AbstractListQueryCountTests;
+
+class ListQueryCountTests extends AbstractListQueryCountTests {
+	
+	ListQueryCountTests() {
+		super("order-service", List.of("/api/carts", "/api/orders"), List.of("/api/carts/async"));
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -10,9 +10,12 @@ import org.springframework.validation.BindException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
 import com.selimhorri.app.exception.payload.ExceptionMsg;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
+import com.selimhorri.commons.bulkhead.BulkheadRejectedException;
+import com.selimhorri.commons.deadline.DeadlineExceededException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -58,6 +61,51 @@ public class ApiExceptionHandler {
 					.build(), badRequest);
 	}
 	
+	@ExceptionHandler(value = DeadlineExceededException.class)
+	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleDeadlineExceededException(final T e) {
+		
+		log.info("**ApiExceptionHandler controller, handle deadline exceeded*\n");
+		final var gatewayTimeout = HttpStatus.GATEWAY_TIMEOUT;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg(e.getMessage())
+					.httpStatus(gatewayTimeout)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), gatewayTimeout);
+	}
+	
+	@ExceptionHandler(value = BulkheadRejectedException.class)
+	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleBulkheadRejectedException(final T e) {
+		
+		log.info("**ApiExceptionHandler controller, handle bulkhead rejection*\n");
+		final var serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg(e.getMessage())
+					.httpStatus(serviceUnavailable)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), serviceUnavailable);
+	}
+	
+	@ExceptionHandler(value = AsyncRequestTimeoutException.class)
+	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleAsyncRequestTimeoutException(final T e) {
+		
+		log.info("**ApiExceptionHandler controller, handle async request timeout*\n");
+		final var gatewayTimeout = HttpStatus.GATEWAY_TIMEOUT;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg("#### Request timed out waiting for downstream services! ####")
+					.httpStatus(gatewayTimeout)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), gatewayTimeout);
+	}
+	
 	
 	
 }
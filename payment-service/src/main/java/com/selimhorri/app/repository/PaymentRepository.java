@@ -1,11 +1,25 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.selimhorri.app.domain.Payment;
 
 public interface PaymentRepository extends JpaRepository<Payment, Integer> {
 	
+	List<Payment> findAllByOrderId(final Integer orderId);
+	
 	
 	
 }
+
+
+
+
+
+
+
+
+
+
@@ -1,5 +1,7 @@
 package com.selimhorri.app.resource;
 
+import java.util.concurrent.CompletableFuture;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -44,6 +46,30 @@ public class PaymentResource {
 		return ResponseEntity.ok(this.paymentService.findById(Integer.parseInt(paymentId)));
 	}
 	
+	@GetMapping("/order/{orderId}")
+	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAllByOrderId(
+			@PathVariable("orderId") final Integer orderId) {
+		log.info("*** PaymentDto List, resource; fetch payments by order id *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.findAllByOrderId(orderId)));
+	}
+	
+	@GetMapping("/async")
+	public CompletableFuture<ResponseEntity<DtoCollectionResponse<PaymentDto>>> findAllAsync() {
+		log.info("*** PaymentDto List, controller; fetch all payments asynchronously *");
+		return this.paymentService.findAllAsync()
+				.thenApply(paymentDtos -> ResponseEntity.ok(new DtoCollectionResponse<>(paymentDtos)));
+	}
+	
+	@GetMapping("/async/{paymentId}")
+	public CompletableFuture<ResponseEntity<PaymentDto>> findByIdAsync(
+			@PathVariable("paymentId") 
+			@NotBlank(message = "Input must not be blank") 
+			@Valid final String paymentId) {
+		log.info("*** PaymentDto, resource; fetch payment by id asynchronously *");
+		return this.paymentService.findByIdAsync(Integer.parseInt(paymentId))
+				.thenApply(ResponseEntity::ok);
+	}
+	
 	@PostMapping
 	public ResponseEntity<PaymentDto> save(
 			@RequestBody 
@@ -1,6 +1,7 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import com.selimhorri.app.dto.PaymentDto;
 
@@ -8,8 +9,22 @@ public interface PaymentService {
 	
 	List<PaymentDto> findAll();
 	PaymentDto findById(final Integer paymentId);
+	List<PaymentDto> findAllByOrderId(final Integer orderId);
 	PaymentDto save(final PaymentDto paymentDto);
 	PaymentDto update(final PaymentDto paymentDto);
 	void deleteById(final Integer paymentId);
 	
+	CompletableFuture<List<PaymentDto>> findAllAsync();
+	CompletableFuture<PaymentDto> findByIdAsync(final Integer paymentId);
+	
 }
+
+
+
+
+
+
+
+
+
+
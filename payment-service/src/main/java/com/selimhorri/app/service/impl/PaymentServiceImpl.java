@@ -1,6 +1,7 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
@@ -15,6 +16,7 @@ import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
 import com.selimhorri.app.helper.PaymentMappingHelper;
 import com.selimhorri.app.repository.PaymentRepository;
 import com.selimhorri.app.service.PaymentService;
+import com.selimhorri.commons.bulkhead.DownstreamBulkheads;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +29,7 @@ public class PaymentServiceImpl implements PaymentService {
 	
 	private final PaymentRepository paymentRepository;
 	private final RestTemplate restTemplate;
+	private final DownstreamBulkheads bulkheads;
 	
 	@Override
 	public List<PaymentDto> findAll() {
@@ -35,8 +38,9 @@ public class PaymentServiceImpl implements PaymentService {
 				.stream()
 					.map(PaymentMappingHelper::map)
 					.map(p -> {
-						p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
+						p.setOrderDto(this.bulkheads.execute("orderService", () -> this.restTemplate
+								.getForObject(AppConstant.DiscoveredDomainsApi
+										.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class)));
 						return p;
 					})
 					.distinct()
@@ -49,13 +53,26 @@ public class PaymentServiceImpl implements PaymentService {
 		return this.paymentRepository.findById(paymentId)
 				.map(PaymentMappingHelper::map)
 				.map(p -> {
-					p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
+					p.setOrderDto(this.bulkheads.execute("orderService", () -> this.restTemplate
+							.getForObject(AppConstant.DiscoveredDomainsApi
+									.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class)));
 					return p;
 				})
 				.orElseThrow(() -> new PaymentNotFoundException(String.format("Payment with id: %d not found", paymentId)));
 	}
 	
+	/**
+	 * Payments of one order, not enriched: the caller already holds the order.
+	 */
+	@Override
+	public List<PaymentDto> findAllByOrderId(final Integer orderId) {
+		log.info("*** PaymentDto List, service; fetch payments by order id *");
+		return this.paymentRepository.findAllByOrderId(orderId)
+				.stream()
+					.map(PaymentMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public PaymentDto save(final PaymentDto paymentDto) {
 		log.info("*** PaymentDto, service; save payment *");
@@ -76,6 +93,48 @@ public class PaymentServiceImpl implements PaymentService {
 		this.paymentRepository.deleteById(paymentId);
 	}
 	
+	@Override
+	public CompletableFuture<List<PaymentDto>> findAllAsync() {
+		log.info("*** PaymentDto List, service; fetch all payments asynchronously *");
+		final List<PaymentDto> payments = this.paymentRepository.findAll()
+				.stream()
+					.map(PaymentMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+		return this.bulkheads.fanOut("orderService", payments.stream()
+						.map(p -> p.getOrderDto().getOrderId())
+						.collect(Collectors.toUnmodifiableList()), this::fetchOrderAsync)
+				.thenApply(orders -> payments.stream()
+						.map(p -> {
+							p.setOrderDto(orders.get(p.getOrderDto().getOrderId()));
+							return p;
+						})
+						.distinct()
+						.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	@Override
+	public CompletableFuture<PaymentDto> findByIdAsync(final Integer paymentId) {
+		log.info("*** PaymentDto, service; fetch payment by id asynchronously *");
+		return this.paymentRepository.findById(paymentId)
+				.map(PaymentMappingHelper::map)
+				.map(this::enrichAsync)
+				.orElseThrow(() -> new PaymentNotFoundException(String.format("Payment with id: %d not found", paymentId)));
+	}
+	
+	private CompletableFuture<PaymentDto> enrichAsync(final PaymentDto paymentDto) {
+		return this.fetchOrderAsync(paymentDto.getOrderDto().getOrderId())
+				.thenApply(orderDto -> {
+					paymentDto.setOrderDto(orderDto);
+					return paymentDto;
+				});
+	}
+	
+	private CompletableFuture<OrderDto> fetchOrderAsync(final Integer orderId) {
+		return this.bulkheads.submit("orderService", () -> this.restTemplate
+				.getForObject(AppConstant.DiscoveredDomainsApi
+						.ORDER_SERVICE_API_URL + "/" + orderId, OrderDto.class));
+	}
+	
 	
 	
 }
@@ -88,3 +147,4 @@ public class PaymentServiceImpl implements PaymentService {
 
 
 
+
@@ -0,0 +1,30 @@
+package com.selimhorri.app.config.filter;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+@Configuration
+public class EtagFilterConfig {
+	
+	@Bean
+	public FilterRegistrationBean<ShallowEtagHeaderFilter> shallowEtagHeaderFilter() {
+		final var registration = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+		registration.addUrlPatterns("/api/products/*", "/api/categories/*", "/api/products", "/api/categories");
+		return registration;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,11 +1,16 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.selimhorri.app.domain.Category;
 
 public interface CategoryRepository extends JpaRepository<Category, Integer> {
 	
-	
+	@Override
+	@EntityGraph(attributePaths = "parentCategory")
+	List<Category> findAll();
 	
 }
@@ -1,11 +1,16 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.selimhorri.app.domain.Product;
 
 public interface ProductRepository extends JpaRepository<Product, Integer> {
 	
-	
+	@Override
+	@EntityGraph(attributePaths = "category")
+	List<Product> findAll();
 	
 }
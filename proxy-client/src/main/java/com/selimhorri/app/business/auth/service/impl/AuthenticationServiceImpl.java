@@ -1,17 +1,30 @@
 package com.selimhorri.app.business.auth.service.impl;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import com.selimhorri.app.business.auth.model.request.AuthenticationRequest;
 import com.selimhorri.app.business.auth.model.response.AuthenticationResponse;
 import com.selimhorri.app.business.auth.service.AuthenticationService;
+import com.selimhorri.app.config.executor.HashingExecutorConfig;
+import com.selimhorri.app.config.executor.HashingExecutorProperties;
+import com.selimhorri.app.exception.wrapper.AuthenticationThrottledException;
 import com.selimhorri.app.exception.wrapper.IllegalAuthenticationCredentialsException;
 import com.selimhorri.app.jwt.service.JwtService;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -21,24 +34,31 @@ import lombok.extern.slf4j.Slf4j;
 public class AuthenticationServiceImpl implements AuthenticationService {
 	
 	private final AuthenticationManager authenticationManager;
-	private final UserDetailsService userDetailsService;
 	private final JwtService jwtService;
+	@Qualifier(HashingExecutorConfig.HASHING_EXECUTOR)
+	private final ExecutorService hashingExecutor;
+	private final HashingExecutorProperties hashingExecutorProperties;
+	private final MeterRegistry meterRegistry;
 	
 	@Override
 	public AuthenticationResponse authenticate(final AuthenticationRequest authenticationRequest) {
 		
 		log.info("** AuthenticationResponse, authenticate user service*\n");
 		
+		final Future<Authentication> authentication;
 		try {
-			this.authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
-					authenticationRequest.getUsername(), authenticationRequest.getPassword()));
+			authentication = this.hashingExecutor.submit(() -> this.authenticationManager
+					.authenticate(new UsernamePasswordAuthenticationToken(
+							authenticationRequest.getUsername(), authenticationRequest.getPassword())));
 		}
-		catch (BadCredentialsException e) {
-			throw new IllegalAuthenticationCredentialsException("#### Bad credentials! ####");
+		catch (RejectedExecutionException e) {
+			this.meterRegistry.counter("authentication.hashing.rejected", "reason", "saturated").increment();
+			throw new AuthenticationThrottledException("#### Too many concurrent authentications, try again later! ####", e);
 		}
 		
-		return new AuthenticationResponse(this.jwtService.generateToken(this.userDetailsService
-				.loadUserByUsername(authenticationRequest.getUsername())));
+		// the principal is the UserDetails loaded by the provider, no need to fetch the credential twice
+		return new AuthenticationResponse(this.jwtService
+				.generateToken((UserDetails) this.await(authentication).getPrincipal()));
 	}
 	
 	@Override
@@ -46,6 +66,29 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 		return null;
 	}
 	
+	private Authentication await(final Future<Authentication> authentication) {
+		try {
+			return authentication.get(this.hashingExecutorProperties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+		}
+		catch (TimeoutException e) {
+			authentication.cancel(true);
+			this.meterRegistry.counter("authentication.hashing.rejected", "reason", "timeout").increment();
+			throw new AuthenticationThrottledException("#### Authentication timed out, try again later! ####", e);
+		}
+		catch (InterruptedException e) {
+			authentication.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new AuthenticationThrottledException("#### Authentication interrupted! ####", e);
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof BadCredentialsException)
+				throw new IllegalAuthenticationCredentialsException("#### Bad credentials! ####");
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+	
 	
 	
 }
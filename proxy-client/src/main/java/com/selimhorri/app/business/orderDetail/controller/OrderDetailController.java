@@ -0,0 +1,39 @@
+package com.selimhorri.app.business.orderDetail.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.orderDetail.model.OrderDetailDto;
+import com.selimhorri.app.business.orderDetail.service.OrderDetailService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+public class OrderDetailController {
+	
+	private final OrderDetailService orderDetailService;
+	
+	@GetMapping("/{orderId}/detail")
+	public ResponseEntity<OrderDetailDto> findById(
+			@PathVariable("orderId") final Integer orderId) {
+		return ResponseEntity.ok(this.orderDetailService.findById(orderId));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,58 @@
+package com.selimhorri.app.business.orderDetail.model;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.orderItem.model.OrderItemDto;
+import com.selimhorri.app.business.payment.model.PaymentDto;
+import com.selimhorri.app.business.product.model.ProductDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderDetailDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@JsonProperty("order")
+	private OrderDto orderDto;
+	
+	@JsonProperty("orderItems")
+	@JsonInclude(Include.NON_NULL)
+	private Collection<OrderItemDto> orderItemDtos;
+	
+	@JsonProperty("payments")
+	@JsonInclude(Include.NON_NULL)
+	private Collection<PaymentDto> paymentDtos;
+	
+	@JsonProperty("products")
+	@JsonInclude(Include.NON_NULL)
+	private Collection<ProductDto> productDtos;
+	
+	private Boolean partial;
+	
+	@JsonInclude(Include.NON_EMPTY)
+	private Set<String> unavailable;
+	
+}
+
+
+
+
+
+
+
+
+
+
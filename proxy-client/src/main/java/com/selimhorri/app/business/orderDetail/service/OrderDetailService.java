@@ -0,0 +1,19 @@
+package com.selimhorri.app.business.orderDetail.service;
+
+import com.selimhorri.app.business.orderDetail.model.OrderDetailDto;
+
+public interface OrderDetailService {
+	
+	OrderDetailDto findById(final Integer orderId);
+	
+}
+
+
+
+
+
+
+
+
+
+
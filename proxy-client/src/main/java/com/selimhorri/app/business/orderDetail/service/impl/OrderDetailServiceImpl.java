@@ -0,0 +1,177 @@
+package com.selimhorri.app.business.orderDetail.service.impl;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.business.orderDetail.model.OrderDetailDto;
+import com.selimhorri.app.business.orderDetail.service.OrderDetailService;
+import com.selimhorri.app.business.orderItem.model.OrderItemDto;
+import com.selimhorri.app.business.orderItem.service.OrderItemClientService;
+import com.selimhorri.app.business.payment.model.PaymentDto;
+import com.selimhorri.app.business.payment.service.PaymentClientService;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.service.ProductClientService;
+import com.selimhorri.app.config.executor.OrderDetailExecutorConfig;
+import com.selimhorri.app.config.executor.OrderDetailExecutorProperties;
+import com.selimhorri.app.exception.wrapper.DependencyUnavailableException;
+import com.selimhorri.commons.cost.RequestCost;
+import com.selimhorri.commons.deadline.Deadline;
+import com.selimhorri.commons.threads.CancellableTasks;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OrderDetailServiceImpl implements OrderDetailService {
+	
+	private static final String ORDER_ITEMS = "orderItems";
+	private static final String PAYMENTS = "payments";
+	private static final String PRODUCTS = "products";
+	
+	private final OrderClientService orderClientService;
+	private final OrderItemClientService orderItemClientService;
+	private final PaymentClientService paymentClientService;
+	private final ProductClientService productClientService;
+	@Qualifier(OrderDetailExecutorConfig.ORDER_DETAIL_EXECUTOR)
+	private final ExecutorService orderDetailExecutor;
+	private final OrderDetailExecutorProperties orderDetailExecutorProperties;
+	private final MeterRegistry meterRegistry;
+	
+	@Override
+	public OrderDetailDto findById(final Integer orderId) {
+		
+		log.info("*** OrderDetailDto, service; fetch order detail by order id *");
+		
+		// never wait longer than the caller is willing to
+		final long deadline = System.nanoTime() + Deadline.current()
+				.map(Deadline::remaining)
+				.filter(remaining -> remaining.compareTo(this.orderDetailExecutorProperties.getDeadline()) < 0)
+				.orElse(this.orderDetailExecutorProperties.getDeadline())
+				.toNanos();
+		
+		final CompletableFuture<OrderDto> order = this.supply(() -> this.orderClientService
+				.findById(String.valueOf(orderId)).getBody());
+		final CompletableFuture<List<OrderItemDto>> orderItems = this.supply(() -> List.copyOf(this.orderItemClientService
+				.findAllByOrderId(orderId).getBody().getCollection()));
+		final CompletableFuture<List<PaymentDto>> payments = this.supply(() -> List.copyOf(this.paymentClientService
+				.findAllByOrderId(orderId).getBody().getCollection()));
+		
+		// products depend on the order items and start as soon as they arrive, from whichever thread completes them,
+		// so the caller's deadline and cost are captured here
+		final Supplier<List<CompletableFuture<ProductDto>>> startProducts = Deadline.wrap(RequestCost.wrap(() -> orderItems.join().stream()
+				.map(OrderItemDto::getProductId)
+				.filter(Objects::nonNull)
+				.distinct()
+				.map(productId -> this.supply(() -> this.productClientService
+						.findById(String.valueOf(productId)).getBody()))
+				.collect(Collectors.toUnmodifiableList())));
+		final CompletableFuture<List<CompletableFuture<ProductDto>>> products = orderItems.thenApply(items -> startProducts.get());
+		
+		// the order first, an unknown order fails the request without waiting on anything else
+		final OrderDto orderDto;
+		try {
+			orderDto = this.await(order, deadline);
+		}
+		catch (RuntimeException e) {
+			// no detail without its order, free the threads of the lookups nobody will read
+			orderItems.cancel(true);
+			payments.cancel(true);
+			products.thenAccept(lookups -> lookups.forEach(product -> product.cancel(true)));
+			throw e;
+		}
+		
+		final Set<String> unavailable = new TreeSet<>();
+		final List<OrderItemDto> orderItemDtos = this.awaitPartially(ORDER_ITEMS, orderItems, deadline, unavailable);
+		final List<CompletableFuture<ProductDto>> productLookups = orderItemDtos == null ? List.of() : products.join();
+		
+		final OrderDetailDto orderDetailDto = OrderDetailDto.builder()
+				.orderDto(orderDto)
+				.orderItemDtos(orderItemDtos)
+				.paymentDtos(this.awaitPartially(PAYMENTS, payments, deadline, unavailable))
+				.productDtos(productLookups.stream()
+						.map(p -> this.awaitPartially(PRODUCTS, p, deadline, unavailable))
+						.filter(Objects::nonNull)
+						.collect(Collectors.toUnmodifiableList()))
+				.partial(!unavailable.isEmpty())
+				.unavailable(unavailable)
+				.build();
+		
+		unavailable.forEach(section -> this.meterRegistry
+				.counter("order.detail.partial", "section", section).increment());
+		
+		return orderDetailDto;
+	}
+	
+	private <T> CompletableFuture<T> supply(final Supplier<T> supplier) {
+		try {
+			return CancellableTasks.supplyAsync(Deadline.wrap(RequestCost.wrap(supplier)), this.orderDetailExecutor);
+		}
+		catch (RejectedExecutionException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+	
+	private <T> T await(final CompletableFuture<T> future, final long deadline) {
+		try {
+			return future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+		}
+		catch (TimeoutException e) {
+			future.cancel(true);
+			throw new DependencyUnavailableException("#### Order detail deadline exceeded! ####", e);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DependencyUnavailableException("#### Order detail interrupted! ####", e);
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof RejectedExecutionException)
+				throw new DependencyUnavailableException("#### Order detail capacity exhausted! ####", e.getCause());
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+	
+	private <T> T awaitPartially(final String section, final CompletableFuture<T> future, 
+			final long deadline, final Set<String> unavailable) {
+		try {
+			return this.await(future, deadline);
+		}
+		catch (RuntimeException e) {
+			log.warn("*** OrderDetailDto, service; {} unavailable: {} *", section, e.getMessage());
+			unavailable.add(section);
+			return null;
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -27,6 +27,10 @@ public interface OrderItemClientService {
 			@PathVariable("orderId") final String orderId, 
 			@PathVariable("productId") final String productId);
 	
+	@GetMapping("/order/{orderId}")
+	ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse> findAllByOrderId(
+			@PathVariable("orderId") final Integer orderId);
+	
 	@GetMapping("/find")
 	ResponseEntity<OrderItemDto> findById(
 			@RequestBody 
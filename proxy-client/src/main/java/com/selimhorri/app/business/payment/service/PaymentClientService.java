@@ -28,6 +28,10 @@ public interface PaymentClientService {
 			@NotBlank(message = "Input must not be blank!") 
 			@Valid final String paymentId);
 	
+	@GetMapping("/order/{orderId}")
+	public ResponseEntity<PaymentPaymentServiceDtoCollectionResponse> findAllByOrderId(
+			@PathVariable("orderId") final Integer orderId);
+	
 	@PostMapping
 	public ResponseEntity<PaymentDto> save(
 			@RequestBody 
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.product.model.CategoryDto;
 import com.selimhorri.app.business.product.model.response.CategoryProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.service.CatalogService;
 import com.selimhorri.app.business.product.service.CategoryClientService;
 
 import lombok.RequiredArgsConstructor;
@@ -22,36 +23,45 @@ import lombok.RequiredArgsConstructor;
 public class CategoryController {
 	
 	private final CategoryClientService categoryClientService;
+	private final CatalogService catalogService;
 	
 	@GetMapping
 	public ResponseEntity<CategoryProductServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.categoryClientService.findAll().getBody());
+		return ResponseEntity.ok(this.catalogService.findAllCategories());
 	}
 	
 	@GetMapping("/{categoryId}")
 	public ResponseEntity<CategoryDto> findById(@PathVariable("categoryId") final String categoryId) {
-		return ResponseEntity.ok(this.categoryClientService.findById(categoryId).getBody());
+		return ResponseEntity.ok(this.catalogService.findCategoryById(categoryId));
 	}
 	
 	@PostMapping
 	public ResponseEntity<CategoryDto> save(@RequestBody final CategoryDto categoryDto) {
-		return ResponseEntity.ok(this.categoryClientService.save(categoryDto).getBody());
+		final var response = this.categoryClientService.save(categoryDto).getBody();
+		this.catalogService.purge();
+		return ResponseEntity.ok(response);
 	}
 	
 	@PutMapping
 	public ResponseEntity<CategoryDto> update(@RequestBody final CategoryDto categoryDto) {
-		return ResponseEntity.ok(this.categoryClientService.update(categoryDto).getBody());
+		final var response = this.categoryClientService.update(categoryDto).getBody();
+		this.catalogService.purge();
+		return ResponseEntity.ok(response);
 	}
 	
 	@PutMapping("/{categoryId}")
 	public ResponseEntity<CategoryDto> update(@PathVariable("categoryId") final String categoryId, 
 			@RequestBody final CategoryDto categoryDto) {
-		return ResponseEntity.ok(this.categoryClientService.update(categoryId, categoryDto).getBody());
+		final var response = this.categoryClientService.update(categoryId, categoryDto).getBody();
+		this.catalogService.purge();
+		return ResponseEntity.ok(response);
 	}
 	
 	@DeleteMapping("/{categoryId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("categoryId") final String categoryId) {
-		return ResponseEntity.ok(this.categoryClientService.deleteById(categoryId).getBody());
+		final var response = this.categoryClientService.deleteById(categoryId).getBody();
+		this.catalogService.purge();
+		return ResponseEntity.ok(response);
 	}
 	
 	
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.product.model.ProductDto;
 import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.service.CatalogService;
 import com.selimhorri.app.business.product.service.ProductClientService;
 
 import lombok.RequiredArgsConstructor;
@@ -22,36 +23,45 @@ import lombok.RequiredArgsConstructor;
 public class ProductController {
 	
 	private final ProductClientService productClientService;
+	private final CatalogService catalogService;
 	
 	@GetMapping
 	public ResponseEntity<ProductProductServiceCollectionDtoResponse> findAll() {
-		return ResponseEntity.ok(this.productClientService.findAll().getBody());
+		return ResponseEntity.ok(this.catalogService.findAllProducts());
 	}
 	
 	@GetMapping("/{productId}")
 	public ResponseEntity<ProductDto> findById(@PathVariable("productId") final String productId) {
-		return ResponseEntity.ok(this.productClientService.findById(productId).getBody());
+		return ResponseEntity.ok(this.catalogService.findProductById(productId));
 	}
 	
 	@PostMapping
 	public ResponseEntity<ProductDto> save(@RequestBody final ProductDto productDto) {
-		return ResponseEntity.ok(this.productClientService.save(productDto).getBody());
+		final var response = this.productClientService.save(productDto).getBody();
+		this.catalogService.purge();
+		return ResponseEntity.ok(response);
 	}
 	
 	@PutMapping
 	public ResponseEntity<ProductDto> update(@RequestBody final ProductDto productDto) {
-		return ResponseEntity.ok(this.productClientService.update(productDto).getBody());
+		final var response = this.productClientService.update(productDto).getBody();
+		this.catalogService.purge();
+		return ResponseEntity.ok(response);
 	}
 	
 	@PutMapping("/{productId}")
 	public ResponseEntity<ProductDto> update(@PathVariable("productId") final String productId, 
 			@RequestBody final ProductDto productDto) {
-		return ResponseEntity.ok(this.productClientService.update(productId, productDto).getBody());
+		final var response = this.productClientService.update(productId, productDto).getBody();
+		this.catalogService.purge();
+		return ResponseEntity.ok(response);
 	}
 	
 	@DeleteMapping("/{productId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("productId") final String productId) {
-		return ResponseEntity.ok(this.productClientService.deleteById(productId).getBody());
+		final var response = this.productClientService.deleteById(productId).getBody();
+		this.catalogService.purge();
+		return ResponseEntity.ok(response);
 	}
 	
 	
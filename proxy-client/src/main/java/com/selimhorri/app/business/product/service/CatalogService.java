@@ -0,0 +1,26 @@
+package com.selimhorri.app.business.product.service;
+
+import com.selimhorri.app.business.product.model.CategoryDto;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.model.response.CategoryProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+
+public interface CatalogService {
+	
+	ProductProductServiceCollectionDtoResponse findAllProducts();
+	ProductDto findProductById(final String productId);
+	CategoryProductServiceCollectionDtoResponse findAllCategories();
+	CategoryDto findCategoryById(final String categoryId);
+	void purge();
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,165 @@
+package com.selimhorri.app.business.product.service.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.selimhorri.app.business.product.model.CategoryDto;
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.model.response.CategoryProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.service.CatalogService;
+import com.selimhorri.app.business.product.service.CategoryClientService;
+import com.selimhorri.app.business.product.service.ProductClientService;
+import com.selimhorri.app.config.cache.CatalogCacheProperties;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class CatalogServiceImpl implements CatalogService {
+	
+	private static final String CACHE_NAME = "catalog";
+	private static final String PRODUCTS = "products";
+	private static final String CATEGORIES = "categories";
+	
+	private final ProductClientService productClientService;
+	private final CategoryClientService categoryClientService;
+	private final CatalogCacheProperties catalogCacheProperties;
+	private final ObjectMapper objectMapper;
+	private final LoadingCache<CatalogKey, Loaded> cache;
+	private final AtomicLong purges = new AtomicLong();
+	
+	public CatalogServiceImpl(final ProductClientService productClientService, 
+			final CategoryClientService categoryClientService, 
+			final CatalogCacheProperties catalogCacheProperties, 
+			final ObjectMapper objectMapper, 
+			final MeterRegistry meterRegistry) {
+		
+		this.productClientService = productClientService;
+		this.categoryClientService = categoryClientService;
+		this.catalogCacheProperties = catalogCacheProperties;
+		this.objectMapper = objectMapper;
+		
+		// entries older than refreshAfter are served stale while a single background reload runs,
+		// entries older than timeToLive are never served
+		this.cache = Caffeine.newBuilder()
+				.maximumWeight(catalogCacheProperties.getMaximumSize().toBytes())
+				.weigher(this::weigh)
+				.expireAfterWrite(catalogCacheProperties.getTimeToLive().toNanos(), TimeUnit.NANOSECONDS)
+				.refreshAfterWrite(catalogCacheProperties.getRefreshAfter().toNanos(), TimeUnit.NANOSECONDS)
+				.recordStats()
+				.build(this::loadVersioned);
+		
+		CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+		Gauge.builder("cache.weighted.size", this.cache, c -> c.policy().eviction()
+					.map(e -> e.weightedSize().orElse(0L))
+					.orElse(0L))
+				.tag("cache", CACHE_NAME)
+				.baseUnit("bytes")
+				.description("Approximate serialized size of the cached entries")
+				.register(meterRegistry);
+		Gauge.builder("cache.hit.ratio", this.cache, c -> c.stats().hitRate())
+				.tag("cache", CACHE_NAME)
+				.register(meterRegistry);
+	}
+	
+	@Override
+	public ProductProductServiceCollectionDtoResponse findAllProducts() {
+		return this.get(new CatalogKey(PRODUCTS, null), ProductProductServiceCollectionDtoResponse.class);
+	}
+	
+	@Override
+	public ProductDto findProductById(final String productId) {
+		return this.get(new CatalogKey(PRODUCTS, productId), ProductDto.class);
+	}
+	
+	@Override
+	public CategoryProductServiceCollectionDtoResponse findAllCategories() {
+		return this.get(new CatalogKey(CATEGORIES, null), CategoryProductServiceCollectionDtoResponse.class);
+	}
+	
+	@Override
+	public CategoryDto findCategoryById(final String categoryId) {
+		return this.get(new CatalogKey(CATEGORIES, categoryId), CategoryDto.class);
+	}
+	
+	/**
+	 * Called once a write went through. Loads and refreshes already in flight may still put what they read
+	 * before the write into the cache, so entries remember how many purges preceded their load and older ones
+	 * are dropped on read.
+	 */
+	@Override
+	public void purge() {
+		log.info("*** Void, service; purge catalog cache *");
+		this.purges.incrementAndGet();
+		this.cache.invalidateAll();
+	}
+	
+	private <T> T get(final CatalogKey key, final Class<T> type) {
+		if (!this.catalogCacheProperties.isEnabled())
+			return type.cast(this.load(key));
+		Loaded loaded = this.cache.get(key);
+		while (loaded.getPurges() != this.purges.get()) {
+			this.cache.asMap().remove(key, loaded);
+			loaded = this.cache.get(key);
+		}
+		return type.cast(loaded.getValue());
+	}
+	
+	private Loaded loadVersioned(final CatalogKey key) {
+		final long purges = this.purges.get();
+		return new Loaded(this.load(key), purges);
+	}
+	
+	private Object load(final CatalogKey key) {
+		if (PRODUCTS.equals(key.getResource()))
+			return key.getId() == null ? this.productClientService.findAll().getBody() 
+					: this.productClientService.findById(key.getId()).getBody();
+		return key.getId() == null ? this.categoryClientService.findAll().getBody() 
+				: this.categoryClientService.findById(key.getId()).getBody();
+	}
+	
+	private int weigh(final CatalogKey key, final Loaded loaded) {
+		try {
+			return this.objectMapper.writeValueAsBytes(loaded.getValue()).length;
+		}
+		catch (JsonProcessingException e) {
+			return 1;
+		}
+	}
+	
+	@Value
+	private static class CatalogKey {
+		String resource;
+		String id;
+	}
+	
+	@Value
+	private static class Loaded {
+		Object value;
+		long purges;
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
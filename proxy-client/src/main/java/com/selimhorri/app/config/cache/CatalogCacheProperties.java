@@ -0,0 +1,29 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.catalog-cache")
+public class CatalogCacheProperties {
+	
+	private boolean enabled = true;
+	private DataSize maximumSize = DataSize.ofMegabytes(32);
+	private Duration timeToLive = Duration.ofSeconds(30);
+	private Duration refreshAfter = Duration.ofSeconds(5);
+	
+}
+
+
+
+
+
+
+
+
+
+
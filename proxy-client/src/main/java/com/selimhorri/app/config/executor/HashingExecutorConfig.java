@@ -0,0 +1,49 @@
+package com.selimhorri.app.config.executor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Configuration
+@EnableConfigurationProperties(HashingExecutorProperties.class)
+public class HashingExecutorConfig {
+	
+	public static final String HASHING_EXECUTOR = "hashingExecutor";
+	
+	@Bean(name = HASHING_EXECUTOR, destroyMethod = "shutdown")
+	public ExecutorService hashingExecutor(final HashingExecutorProperties properties, final MeterRegistry meterRegistry) {
+		
+		// bounded queue + abort policy: a saturated pool rejects instead of parking request threads
+		final var executor = new ThreadPoolExecutor(
+				properties.getCoreSize(),
+				Math.max(properties.getCoreSize(), properties.getMaxSize()),
+				properties.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+				new CustomizableThreadFactory("auth-hashing-"),
+				new ThreadPoolExecutor.AbortPolicy());
+		
+		return ExecutorServiceMetrics.monitor(meterRegistry, executor, "authHashing");
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,30 @@
+package com.selimhorri.app.config.executor;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.auth.hashing")
+public class HashingExecutorProperties {
+	
+	private int coreSize = 4;
+	private int maxSize = 4;
+	private int queueCapacity = 32;
+	private Duration keepAlive = Duration.ofSeconds(60);
+	private Duration timeout = Duration.ofSeconds(5);
+	private long retryAfterSeconds = 1;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,50 @@
+package com.selimhorri.app.config.executor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.commons.threads.WorkerThreads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Configuration
+@EnableConfigurationProperties(OrderDetailExecutorProperties.class)
+public class OrderDetailExecutorConfig {
+	
+	public static final String ORDER_DETAIL_EXECUTOR = "orderDetailExecutor";
+	
+	@Bean(name = ORDER_DETAIL_EXECUTOR, destroyMethod = "shutdown")
+	public ExecutorService orderDetailExecutor(final OrderDetailExecutorProperties properties, final WorkerThreads workerThreads,
+			final MeterRegistry meterRegistry) {
+		
+		final var executor = new ThreadPoolExecutor(
+				properties.getCoreSize(),
+				Math.max(properties.getCoreSize(), properties.getMaxSize()),
+				properties.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+				workerThreads.factory("order-detail-"),
+				new ThreadPoolExecutor.AbortPolicy());
+		
+		return ExecutorServiceMetrics.monitor(meterRegistry, executor, "orderDetail");
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,29 @@
+package com.selimhorri.app.config.executor;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.order-detail")
+public class OrderDetailExecutorProperties {
+	
+	private int coreSize = 16;
+	private int maxSize = 32;
+	private int queueCapacity = 128;
+	private Duration keepAlive = Duration.ofSeconds(60);
+	private Duration deadline = Duration.ofSeconds(2);
+	
+}
+
+
+
+
+
+
+
+
+
+
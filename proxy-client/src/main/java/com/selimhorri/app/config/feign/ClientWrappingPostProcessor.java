@@ -0,0 +1,54 @@
+package com.selimhorri.app.config.feign;
+
+import java.util.function.UnaryOperator;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+import feign.Client;
+
+/**
+ * Wraps the Feign client bean in one decorator. Lower orders are applied first and so end up nearer the
+ * load-balancing client: timing, cost, deadline, then coalescing outermost, so that calls answered from an
+ * in-flight one are neither timed nor counted and wait within their own deadline.
+ */
+public class ClientWrappingPostProcessor implements BeanPostProcessor, Ordered {
+	
+	public static final int TIMING = 100;
+	public static final int COST = 200;
+	public static final int DEADLINE = 300;
+	public static final int COALESCING = 400;
+	
+	private final int order;
+	private final Class<? extends Client> wrapper;
+	private final UnaryOperator<Client> wrap;
+	
+	public ClientWrappingPostProcessor(final int order, final Class<? extends Client> wrapper, final UnaryOperator<Client> wrap) {
+		this.order = order;
+		this.wrapper = wrapper;
+		this.wrap = wrap;
+	}
+	
+	@Override
+	public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+		if (bean instanceof Client && !this.wrapper.isInstance(bean))
+			return this.wrap.apply((Client) bean);
+		return bean;
+	}
+	
+	@Override
+	public int getOrder() {
+		return this.order;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,174 @@
+package com.selimhorri.app.config.feign;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.util.AntPathMatcher;
+
+import com.selimhorri.commons.deadline.Deadline;
+import com.selimhorri.commons.deadline.DeadlineExceededException;
+
+import feign.Client;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Request.Options;
+import feign.Response;
+import feign.Util;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Lets identical catalog GETs that overlap share one call. A follower waits at most its own timeout or deadline,
+ * and only takes over the leader's failure when it is not the leader's deadline running out.
+ */
+public class CoalescingFeignClient implements Client {
+	
+	private final Client delegate;
+	private final CoalescingProperties properties;
+	private final AntPathMatcher pathMatcher = new AntPathMatcher();
+	private final Map<String, CompletableFuture<BufferedResponse>> inFlight = new ConcurrentHashMap<>();
+	private final Counter executed;
+	private final Counter coalesced;
+	
+	public CoalescingFeignClient(final Client delegate, final CoalescingProperties properties, final MeterRegistry meterRegistry) {
+		this.delegate = delegate;
+		this.properties = properties;
+		this.executed = meterRegistry.counter("feign.coalescing.requests", "result", "executed");
+		this.coalesced = meterRegistry.counter("feign.coalescing.requests", "result", "coalesced");
+		meterRegistry.gaugeMapSize("feign.coalescing.inflight", Tags.empty(), this.inFlight);
+	}
+	
+	@Override
+	public Response execute(final Request request, final Options options) throws IOException {
+		
+		if (!this.isCoalescable(request))
+			return this.delegate.execute(request, options);
+		
+		final var key = request.url();
+		while (true) {
+			final var leader = new CompletableFuture<BufferedResponse>();
+			final var inFlightCall = this.inFlight.putIfAbsent(key, leader);
+			if (inFlightCall == null)
+				return this.lead(key, leader, request, options);
+			
+			final var shared = this.await(inFlightCall, request, options);
+			if (shared != null) {
+				this.coalesced.increment();
+				return shared.toResponse(request);
+			}
+			// the leader ran out of its own deadline, which says nothing about this caller's: call again
+		}
+	}
+	
+	private Response lead(final String key, final CompletableFuture<BufferedResponse> leader, final Request request,
+			final Options options) throws IOException {
+		this.executed.increment();
+		try (final var response = this.delegate.execute(request, options)) {
+			final var bufferedResponse = BufferedResponse.of(response);
+			leader.complete(bufferedResponse);
+			return bufferedResponse.toResponse(request);
+		}
+		catch (IOException | RuntimeException e) {
+			if (e instanceof DeadlineExceededException || Deadline.current().filter(Deadline::isExpired).isPresent())
+				leader.complete(null);
+			else
+				leader.completeExceptionally(e);
+			throw e;
+		}
+		finally {
+			// only identical calls overlapping the leader share its result, nothing outlives it
+			this.inFlight.remove(key, leader);
+		}
+	}
+	
+	private boolean isCoalescable(final Request request) {
+		if (!this.properties.isEnabled() || request.httpMethod() != HttpMethod.GET || request.body() != null)
+			return false;
+		final var path = URI.create(request.url()).getPath();
+		return this.properties.getRoutes().stream()
+				.anyMatch(route -> this.pathMatcher.match(route, path));
+	}
+	
+	/**
+	 * Waits for the in-flight call as long as this caller would have waited for its own one, null when the leader
+	 * gave up on its deadline.
+	 */
+	private BufferedResponse await(final CompletableFuture<BufferedResponse> inFlightCall, final Request request,
+			final Options options) throws IOException {
+		final Optional<Deadline> deadline = Deadline.current();
+		final long timeout = options.connectTimeoutMillis() + (long) options.readTimeoutMillis();
+		final long wait = deadline.map(d -> Math.min(timeout, d.remaining().toMillis())).orElse(timeout);
+		try {
+			return inFlightCall.get(wait, TimeUnit.MILLISECONDS);
+		}
+		catch (TimeoutException e) {
+			if (deadline.filter(Deadline::isExpired).isPresent())
+				throw new DeadlineExceededException("#### Deadline exceeded waiting for " + request.url() + "! ####", e);
+			throw new IOException("Coalesced request timed out waiting for the in-flight call", e);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Coalesced request interrupted", e);
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException)
+				throw (IOException) e.getCause();
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new IOException(e.getCause());
+		}
+	}
+	
+	private static final class BufferedResponse {
+		
+		private final int status;
+		private final String reason;
+		private final Map<String, Collection<String>> headers;
+		private final byte[] body;
+		
+		private BufferedResponse(final int status, final String reason, 
+				final Map<String, Collection<String>> headers, final byte[] body) {
+			this.status = status;
+			this.reason = reason;
+			this.headers = headers;
+			this.body = body;
+		}
+		
+		static BufferedResponse of(final Response response) throws IOException {
+			return new BufferedResponse(response.status(), response.reason(), response.headers(), 
+					response.body() == null ? null : Util.toByteArray(response.body().asInputStream()));
+		}
+		
+		Response toResponse(final Request request) {
+			final var builder = Response.builder()
+					.status(this.status)
+					.reason(this.reason)
+					.headers(this.headers)
+					.request(request);
+			return this.body == null ? builder.build() : builder.body(this.body).build();
+		}
+		
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
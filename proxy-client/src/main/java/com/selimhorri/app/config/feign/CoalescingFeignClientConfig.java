@@ -0,0 +1,33 @@
+package com.selimhorri.app.config.feign;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(CoalescingProperties.class)
+public class CoalescingFeignClientConfig {
+	
+	@Bean
+	public static ClientWrappingPostProcessor coalescingFeignClientPostProcessor(
+			final ObjectProvider<CoalescingProperties> properties, final ObjectProvider<MeterRegistry> meterRegistry) {
+		return new ClientWrappingPostProcessor(ClientWrappingPostProcessor.COALESCING, CoalescingFeignClient.class,
+				client -> new CoalescingFeignClient(client, properties.getObject(), meterRegistry.getObject()));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
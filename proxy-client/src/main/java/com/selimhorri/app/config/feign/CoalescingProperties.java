@@ -0,0 +1,27 @@
+package com.selimhorri.app.config.feign;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "app.coalescing")
+public class CoalescingProperties {
+	
+	private boolean enabled = true;
+	private List<String> routes = new ArrayList<>();
+	
+}
+
+
+
+
+
+
+
+
+
+
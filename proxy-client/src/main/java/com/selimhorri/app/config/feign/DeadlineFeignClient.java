@@ -0,0 +1,79 @@
+package com.selimhorri.app.config.feign;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import com.selimhorri.commons.deadline.Deadline;
+import com.selimhorri.commons.deadline.DeadlineExceededException;
+
+import feign.Client;
+import feign.Request;
+import feign.Request.Options;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Forwards the inbound deadline and shrinks the configured Feign timeouts to the budget that is left.
+ */
+public class DeadlineFeignClient implements Client {
+	
+	private final Client delegate;
+	private final Counter exceeded;
+	
+	public DeadlineFeignClient(final Client delegate, final MeterRegistry meterRegistry) {
+		this.delegate = delegate;
+		this.exceeded = meterRegistry.counter("deadline.exceeded", "stage", "outbound");
+	}
+	
+	@Override
+	public Response execute(final Request request, final Options options) throws IOException {
+		
+		final Optional<Deadline> deadline = Deadline.current();
+		if (deadline.isEmpty())
+			return this.delegate.execute(request, options);
+		
+		if (deadline.get().isExpired())
+			throw this.exceeded(request, null);
+		
+		final long remaining = Math.max(1L, deadline.get().remaining().toMillis());
+		final Options bounded = new Options(
+				Math.min(options.connectTimeoutMillis(), remaining), TimeUnit.MILLISECONDS,
+				Math.min(options.readTimeoutMillis(), remaining), TimeUnit.MILLISECONDS,
+				options.isFollowRedirects());
+		
+		final Map<String, Collection<String>> headers = new LinkedHashMap<>(request.headers());
+		headers.put(Deadline.HEADER, List.of(deadline.get().toString()));
+		
+		try {
+			return this.delegate.execute(Request.create(request.httpMethod(), request.url(), headers,
+					request.body(), request.charset(), request.requestTemplate()), bounded);
+		}
+		catch (IOException e) {
+			if (deadline.get().isExpired())
+				throw this.exceeded(request, e);
+			throw e;
+		}
+	}
+	
+	private DeadlineExceededException exceeded(final Request request, final IOException cause) {
+		this.exceeded.increment();
+		return new DeadlineExceededException("#### Deadline exceeded calling " + request.url() + "! ####", cause);
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,30 @@
+package com.selimhorri.app.config.feign;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class DeadlineFeignClientConfig {
+	
+	@Bean
+	public static ClientWrappingPostProcessor deadlineFeignClientPostProcessor(final ObjectProvider<MeterRegistry> meterRegistry) {
+		return new ClientWrappingPostProcessor(ClientWrappingPostProcessor.DEADLINE, DeadlineFeignClient.class,
+				client -> new DeadlineFeignClient(client, meterRegistry.getObject()));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
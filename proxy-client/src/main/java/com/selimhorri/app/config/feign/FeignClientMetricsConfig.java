@@ -0,0 +1,37 @@
+package com.selimhorri.app.config.feign;
+
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+
+@Configuration
+public class FeignClientMetricsConfig {
+	
+	@Bean
+	public MeterBinder feignConnectionPoolMetrics(final HttpClientConnectionManager connectionManager) {
+		return registry -> {
+			if (connectionManager instanceof PoolingHttpClientConnectionManager)
+				new PoolingHttpClientConnectionManagerMetricsBinder(
+						(PoolingHttpClientConnectionManager) connectionManager, "feign", Tags.empty())
+					.bindTo(registry);
+		};
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
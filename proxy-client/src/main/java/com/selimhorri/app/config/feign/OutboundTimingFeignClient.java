@@ -0,0 +1,56 @@
+package com.selimhorri.app.config.feign;
+
+import java.io.IOException;
+import java.net.URI;
+
+import org.springframework.boot.actuate.metrics.http.Outcome;
+
+import com.selimhorri.commons.jfr.RemoteCallEvent;
+import com.selimhorri.commons.timing.OutboundCallTimers;
+
+import feign.Client;
+import feign.Request;
+import feign.Request.Options;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Feign side of outbound.calls, wraps the load-balancing client so the target is the service id.
+ */
+@RequiredArgsConstructor
+public class OutboundTimingFeignClient implements Client {
+	
+	private final Client delegate;
+	private final OutboundCallTimers timers;
+	
+	@Override
+	public Response execute(final Request request, final Options options) throws IOException {
+		
+		final RemoteCallEvent event = new RemoteCallEvent();
+		event.begin();
+		final long start = System.nanoTime();
+		String outcome = Outcome.UNKNOWN.name();
+		try {
+			final Response response = this.delegate.execute(request, options);
+			outcome = Outcome.forStatus(response.status()).name();
+			return response;
+		}
+		finally {
+			final URI uri = URI.create(request.url());
+			this.timers.record(uri.getHost(), request.httpMethod().name(), uri.getRawPath(), outcome,
+					System.nanoTime() - start);
+			event.end(uri.getHost(), request.httpMethod().name(), uri.getRawPath(), outcome);
+		}
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,32 @@
+package com.selimhorri.app.config.feign;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.selimhorri.commons.timing.OutboundCallTimers;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.timing", name = "enabled", matchIfMissing = true)
+public class OutboundTimingFeignClientConfig {
+	
+	@Bean
+	public static ClientWrappingPostProcessor outboundTimingFeignClientPostProcessor(final ObjectProvider<OutboundCallTimers> timers) {
+		return new ClientWrappingPostProcessor(ClientWrappingPostProcessor.TIMING, OutboundTimingFeignClient.class,
+				client -> new OutboundTimingFeignClient(client, timers.getObject()));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
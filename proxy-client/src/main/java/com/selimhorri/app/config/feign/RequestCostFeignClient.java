@@ -0,0 +1,47 @@
+package com.selimhorri.app.config.feign;
+
+import java.io.IOException;
+
+import com.selimhorri.commons.cost.RequestCost;
+
+import feign.Client;
+import feign.Request;
+import feign.Request.Options;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Counts outbound Feign calls and their time into the request's cost, like the RestTemplate interceptor in the services.
+ */
+@RequiredArgsConstructor
+public class RequestCostFeignClient implements Client {
+	
+	private final Client delegate;
+	
+	@Override
+	public Response execute(final Request request, final Options options) throws IOException {
+		
+		final RequestCost cost = RequestCost.current().orElse(null);
+		if (cost == null)
+			return this.delegate.execute(request, options);
+		
+		final long start = System.nanoTime();
+		try {
+			return this.delegate.execute(request, options);
+		}
+		finally {
+			cost.remoteCall(System.nanoTime() - start);
+		}
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
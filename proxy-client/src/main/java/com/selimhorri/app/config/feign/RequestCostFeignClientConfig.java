@@ -0,0 +1,29 @@
+package com.selimhorri.app.config.feign;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.request-cost", name = "enabled", matchIfMissing = true)
+public class RequestCostFeignClientConfig {
+	
+	@Bean
+	public static ClientWrappingPostProcessor requestCostFeignClientPostProcessor() {
+		return new ClientWrappingPostProcessor(ClientWrappingPostProcessor.COST, RequestCostFeignClient.class,
+				RequestCostFeignClient::new);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -3,6 +3,7 @@ package com.selimhorri.app.exception;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -11,11 +12,15 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import com.selimhorri.app.config.executor.HashingExecutorProperties;
 import com.selimhorri.app.exception.payload.ExceptionMsg;
+import com.selimhorri.app.exception.wrapper.AuthenticationThrottledException;
 import com.selimhorri.app.exception.wrapper.CredentialNotFoundException;
+import com.selimhorri.app.exception.wrapper.DependencyUnavailableException;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
 import com.selimhorri.app.exception.wrapper.UserObjectNotFoundException;
 import com.selimhorri.app.exception.wrapper.VerificationTokenNotFoundException;
+import com.selimhorri.commons.deadline.DeadlineExceededException;
 
 import feign.FeignException;
 import feign.FeignException.FeignClientException;
@@ -28,6 +33,8 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class ApiExceptionHandler {
 	
+	private final HashingExecutorProperties hashingExecutorProperties;
+	
 	@ExceptionHandler(value = {
 		FeignClientException.class,
 		FeignServerException.class,
@@ -86,6 +93,56 @@ public class ApiExceptionHandler {
 					.build(), badRequest);
 	}
 	
+	@ExceptionHandler(value = {
+		AuthenticationThrottledException.class,
+	})
+	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleThrottledException(final T e) {
+		
+		log.info("**ApiExceptionHandler controller, handle throttled request*\n");
+		final var tooManyRequests = HttpStatus.TOO_MANY_REQUESTS;
+		
+		return ResponseEntity.status(tooManyRequests)
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(this.hashingExecutorProperties.getRetryAfterSeconds()))
+				.body(ExceptionMsg.builder()
+					.msg(e.getMessage())
+					.httpStatus(tooManyRequests)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build());
+	}
+	
+	@ExceptionHandler(value = {
+		DependencyUnavailableException.class,
+	})
+	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleUnavailableException(final T e) {
+		
+		log.info("**ApiExceptionHandler controller, handle unavailable dependency*\n");
+		final var serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg(e.getMessage())
+					.httpStatus(serviceUnavailable)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), serviceUnavailable);
+	}
+	
+	@ExceptionHandler(value = DeadlineExceededException.class)
+	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleDeadlineExceededException(final T e) {
+		
+		log.info("**ApiExceptionHandler controller, handle deadline exceeded*\n");
+		final var gatewayTimeout = HttpStatus.GATEWAY_TIMEOUT;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg(e.getMessage())
+					.httpStatus(gatewayTimeout)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), gatewayTimeout);
+	}
+	
 	
 	
 }
@@ -0,0 +1,35 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class AuthenticationThrottledException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public AuthenticationThrottledException() {
+		super();
+	}
+	
+	public AuthenticationThrottledException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public AuthenticationThrottledException(String message) {
+		super(message);
+	}
+	
+	public AuthenticationThrottledException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,35 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class DependencyUnavailableException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public DependencyUnavailableException() {
+		super();
+	}
+	
+	public DependencyUnavailableException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public DependencyUnavailableException(String message) {
+		super(message);
+	}
+	
+	public DependencyUnavailableException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
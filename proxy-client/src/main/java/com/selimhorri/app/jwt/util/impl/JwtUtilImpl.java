@@ -4,11 +4,14 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import com.selimhorri.app.jwt.util.JwtUtil;
+import com.selimhorri.commons.jfr.FlightRecorderAccess;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
@@ -46,6 +49,10 @@ public class JwtUtilImpl implements JwtUtil {
 	@Override
 	public String generateToken(final UserDetails userDetails) {
 		final Map<String, Object> claims = new HashMap<>();
+		// the services check the role from the token, they cannot look the user up
+		claims.put(FlightRecorderAccess.ROLES_CLAIM, userDetails.getAuthorities().stream()
+				.map(GrantedAuthority::getAuthority)
+				.collect(Collectors.toUnmodifiableList()));
 		return this.createToken(claims, userDetails.getUsername());
 	}
 	
@@ -0,0 +1,81 @@
+package com.selimhorri.app.business.orderDetail.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.business.order.service.OrderClientService;
+import com.selimhorri.app.business.orderItem.service.OrderItemClientService;
+import com.selimhorri.app.business.payment.service.PaymentClientService;
+import com.selimhorri.app.business.product.service.ProductClientService;
+import com.selimhorri.app.config.executor.OrderDetailExecutorProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OrderDetailServiceImplTests {
+	
+	private final ExecutorService executor = Executors.newFixedThreadPool(4);
+	private final OrderClientService orderClientService = mock(OrderClientService.class);
+	private final OrderItemClientService orderItemClientService = mock(OrderItemClientService.class);
+	private final PaymentClientService paymentClientService = mock(PaymentClientService.class);
+	private final OrderDetailServiceImpl orderDetailService = new OrderDetailServiceImpl(this.orderClientService,
+			this.orderItemClientService, this.paymentClientService, mock(ProductClientService.class), this.executor,
+			this.properties(), new SimpleMeterRegistry());
+	
+	@AfterEach
+	void tearDown() {
+		this.executor.shutdownNow();
+	}
+	
+	@Test
+	void unknownOrderFailsWithoutWaitingForItsItems() throws Exception {
+		final CountDownLatch itemsInterrupted = new CountDownLatch(1);
+		when(this.orderClientService.findById(anyString())).thenThrow(new IllegalStateException("Order not found"));
+		when(this.orderItemClientService.findAllByOrderId(anyInt())).thenAnswer(invocation -> {
+			try {
+				Thread.sleep(10_000L);
+			}
+			catch (InterruptedException e) {
+				itemsInterrupted.countDown();
+			}
+			return null;
+		});
+		
+		final long start = System.nanoTime();
+		assertThatThrownBy(() -> this.orderDetailService.findById(42))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessage("Order not found");
+		
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+		assertThat(itemsInterrupted.await(1L, TimeUnit.SECONDS)).as("items lookup interrupted").isTrue();
+	}
+	
+	private OrderDetailExecutorProperties properties() {
+		final var properties = new OrderDetailExecutorProperties();
+		properties.setDeadline(Duration.ofSeconds(5));
+		return properties;
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,151 @@
+package com.selimhorri.app.config.feign;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.commons.deadline.Deadline;
+import com.selimhorri.commons.deadline.DeadlineExceededException;
+
+import feign.Client;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Request.Options;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CoalescingFeignClientTests {
+	
+	private static final String URL = "http://PRODUCT-SERVICE/product-service/api/products/1";
+	private static final Options OPTIONS = new Options(10L, TimeUnit.SECONDS, 10L, TimeUnit.SECONDS, true);
+	
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	private final CountDownLatch leaderStarted = new CountDownLatch(1);
+	private final CountDownLatch releaseLeader = new CountDownLatch(1);
+	private final AtomicInteger calls = new AtomicInteger();
+	
+	@AfterEach
+	void tearDown() {
+		this.releaseLeader.countDown();
+		this.executor.shutdownNow();
+	}
+	
+	@Test
+	void leaderDeadlineIsNotSharedWithFollowers() throws Exception {
+		final Client client = this.coalescing((request, options) -> {
+			throw new DeadlineExceededException("leader out of budget", null);
+		});
+		
+		final CompletableFuture<Response> leader = this.call(client, null);
+		this.leaderStarted.await();
+		final CompletableFuture<Response> follower = this.call(client, null);
+		Thread.sleep(100L);
+		this.releaseLeader.countDown();
+		
+		assertThatThrownBy(leader::join).hasCauseInstanceOf(DeadlineExceededException.class);
+		assertThat(follower.get(5L, TimeUnit.SECONDS).status()).isEqualTo(200);
+		assertThat(this.calls).hasValue(2);
+	}
+	
+	@Test
+	void leaderFailureIsSharedWithFollowers() throws Exception {
+		final Client client = this.coalescing((request, options) -> {
+			throw new IOException("Connection refused");
+		});
+		
+		final CompletableFuture<Response> leader = this.call(client, null);
+		this.leaderStarted.await();
+		final CompletableFuture<Response> follower = this.call(client, null);
+		Thread.sleep(100L);
+		this.releaseLeader.countDown();
+		
+		assertThatThrownBy(leader::join).hasRootCauseMessage("Connection refused");
+		assertThatThrownBy(follower::join).hasRootCauseMessage("Connection refused");
+		assertThat(this.calls).hasValue(1);
+	}
+	
+	@Test
+	void followerWaitsNoLongerThanItsDeadline() throws Exception {
+		final Client client = this.coalescing((request, options) -> this.ok(request));
+		
+		this.call(client, null);
+		this.leaderStarted.await();
+		final long start = System.nanoTime();
+		final CompletableFuture<Response> follower = this.call(client, Deadline.after(Duration.ofMillis(200L)));
+		
+		assertThatThrownBy(() -> follower.get(5L, TimeUnit.SECONDS)).hasCauseInstanceOf(DeadlineExceededException.class);
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2L));
+		assertThat(this.calls).hasValue(1);
+	}
+	
+	/**
+	 * The first call blocks until released and then fails as given, later ones answer 200.
+	 */
+	private Client coalescing(final Client first) {
+		final var properties = new CoalescingProperties();
+		properties.setRoutes(List.of("/product-service/api/products/*"));
+		final Client delegate = (request, options) -> {
+			if (this.calls.incrementAndGet() > 1)
+				return this.ok(request);
+			this.leaderStarted.countDown();
+			try {
+				this.releaseLeader.await();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return first.execute(request, options);
+		};
+		return new CoalescingFeignClient(delegate, properties, new SimpleMeterRegistry());
+	}
+	
+	private CompletableFuture<Response> call(final Client client, final Deadline deadline) {
+		final var request = Request.create(HttpMethod.GET, URL, Map.of(), null, StandardCharsets.UTF_8, null);
+		final Supplier<Response> execute = () -> {
+			try {
+				return client.execute(request, OPTIONS);
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		};
+		return CompletableFuture.supplyAsync(deadline == null ? execute : Deadline.wrap(deadline, execute), this.executor);
+	}
+	
+	private Response ok(final Request request) {
+		return Response.builder()
+				.status(200)
+				.reason("OK")
+				.headers(Map.of())
+				.request(request)
+				.body("{}", StandardCharsets.UTF_8)
+				.build();
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,5 +1,7 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.selimhorri.app.domain.OrderItem;
@@ -7,6 +9,18 @@ import com.selimhorri.app.domain.id.OrderItemId;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItemId> {
 	
+	List<OrderItem> findAllByOrderId(final Integer orderId);
+	
 	
 	
 }
+
+
+
+
+
+
+
+
+
+
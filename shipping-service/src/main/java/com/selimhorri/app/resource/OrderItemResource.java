@@ -1,5 +1,7 @@
 package com.selimhorri.app.resource;
 
+import java.util.concurrent.CompletableFuture;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
@@ -44,6 +46,30 @@ public class OrderItemResource {
 				new OrderItemId(Integer.parseInt(orderId), Integer.parseInt(productId))));
 	}
 	
+	@GetMapping("/order/{orderId}")
+	public ResponseEntity<DtoCollectionResponse<OrderItemDto>> findAllByOrderId(
+			@PathVariable("orderId") final Integer orderId) {
+		log.info("*** OrderItemDto List, resource; fetch orderItems by order id *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderItemService.findAllByOrderId(orderId)));
+	}
+	
+	@GetMapping("/async")
+	public CompletableFuture<ResponseEntity<DtoCollectionResponse<OrderItemDto>>> findAllAsync() {
+		log.info("*** OrderItemDto List, controller; fetch all orderItems asynchronously *");
+		return this.orderItemService.findAllAsync()
+				.thenApply(orderItemDtos -> ResponseEntity.ok(new DtoCollectionResponse<>(orderItemDtos)));
+	}
+	
+	@GetMapping("/async/{orderId}/{productId}")
+	public CompletableFuture<ResponseEntity<OrderItemDto>> findByIdAsync(
+			@PathVariable("orderId") final String orderId, 
+			@PathVariable("productId") final String productId) {
+		log.info("*** OrderItemDto, resource; fetch orderItem by id asynchronously *");
+		return this.orderItemService.findByIdAsync(
+				new OrderItemId(Integer.parseInt(orderId), Integer.parseInt(productId)))
+				.thenApply(ResponseEntity::ok);
+	}
+	
 	@GetMapping("/find")
 	public ResponseEntity<OrderItemDto> findById(
 			@RequestBody 
@@ -1,6 +1,7 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderItemDto;
@@ -9,8 +10,22 @@ public interface OrderItemService {
 	
 	List<OrderItemDto> findAll();
 	OrderItemDto findById(final OrderItemId orderItemId);
+	List<OrderItemDto> findAllByOrderId(final Integer orderId);
 	OrderItemDto save(final OrderItemDto orderItemDto);
 	OrderItemDto update(final OrderItemDto orderItemDto);
 	void deleteById(final OrderItemId orderItemId);
 	
+	CompletableFuture<List<OrderItemDto>> findAllAsync();
+	CompletableFuture<OrderItemDto> findByIdAsync(final OrderItemId orderItemId);
+	
 }
+
+
+
+
+
+
+
+
+
+
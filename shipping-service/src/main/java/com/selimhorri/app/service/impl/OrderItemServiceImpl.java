@@ -1,6 +1,7 @@
 package com.selimhorri.app.service.impl;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
@@ -17,6 +18,8 @@ import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
 import com.selimhorri.app.helper.OrderItemMappingHelper;
 import com.selimhorri.app.repository.OrderItemRepository;
 import com.selimhorri.app.service.OrderItemService;
+import com.selimhorri.commons.bulkhead.DownstreamBulkheads;
+import com.selimhorri.commons.hedging.Hedger;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +32,8 @@ public class OrderItemServiceImpl implements OrderItemService {
 	
 	private final OrderItemRepository orderItemRepository;
 	private final RestTemplate restTemplate;
+	private final Hedger hedger;
+	private final DownstreamBulkheads bulkheads;
 	
 	@Override
 	public List<OrderItemDto> findAll() {
@@ -37,10 +42,10 @@ public class OrderItemServiceImpl implements OrderItemService {
 				.stream()
 					.map(OrderItemMappingHelper::map)
 					.map(o -> {
-						o.setProductDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.PRODUCT_SERVICE_API_URL + "/" + o.getProductDto().getProductId(), ProductDto.class));
-						o.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(), OrderDto.class));
+						o.setProductDto(this.fetchProduct(o.getProductDto().getProductId()));
+						o.setOrderDto(this.bulkheads.execute("orderService", () -> this.restTemplate
+								.getForObject(AppConstant.DiscoveredDomainsApi
+										.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(), OrderDto.class)));
 						return o;
 					})
 					.distinct()
@@ -53,15 +58,27 @@ public class OrderItemServiceImpl implements OrderItemService {
 		return this.orderItemRepository.findById(null)
 				.map(OrderItemMappingHelper::map)
 				.map(o -> {
-					o.setProductDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.PRODUCT_SERVICE_API_URL + "/" + o.getProductDto().getProductId(), ProductDto.class));
-					o.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(), OrderDto.class));
+					o.setProductDto(this.fetchProduct(o.getProductDto().getProductId()));
+					o.setOrderDto(this.bulkheads.execute("orderService", () -> this.restTemplate
+							.getForObject(AppConstant.DiscoveredDomainsApi
+									.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(), OrderDto.class)));
 					return o;
 				})
 				.orElseThrow(() -> new OrderItemNotFoundException(String.format("OrderItem with id: %s not found", orderItemId)));
 	}
 	
+	/**
+	 * Items of one order, not enriched: the caller already holds the order and looks up the products it needs.
+	 */
+	@Override
+	public List<OrderItemDto> findAllByOrderId(final Integer orderId) {
+		log.info("*** OrderItemDto List, service; fetch orderItems by order id *");
+		return this.orderItemRepository.findAllByOrderId(orderId)
+				.stream()
+					.map(OrderItemMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public OrderItemDto save(final OrderItemDto orderItemDto) {
 		log.info("*** OrderItemDto, service; save orderItem *");
@@ -82,6 +99,66 @@ public class OrderItemServiceImpl implements OrderItemService {
 		this.orderItemRepository.deleteById(orderItemId);
 	}
 	
+	@Override
+	public CompletableFuture<List<OrderItemDto>> findAllAsync() {
+		log.info("*** OrderItemDto List, service; fetch all orderItems asynchronously *");
+		final List<OrderItemDto> orderItems = this.orderItemRepository.findAll()
+				.stream()
+					.map(OrderItemMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+		return this.bulkheads.fanOut("productService", orderItems.stream()
+						.map(o -> o.getProductDto().getProductId())
+						.collect(Collectors.toUnmodifiableList()), this::fetchProductAsync)
+				.thenCombine(this.bulkheads.fanOut("orderService", orderItems.stream()
+						.map(o -> o.getOrderDto().getOrderId())
+						.collect(Collectors.toUnmodifiableList()), this::fetchOrderAsync),
+						(products, orders) -> orderItems.stream()
+								.map(o -> {
+									o.setProductDto(products.get(o.getProductDto().getProductId()));
+									o.setOrderDto(orders.get(o.getOrderDto().getOrderId()));
+									return o;
+								})
+								.distinct()
+								.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	@Override
+	public CompletableFuture<OrderItemDto> findByIdAsync(final OrderItemId orderItemId) {
+		log.info("*** OrderItemDto, service; fetch orderItem by id asynchronously *");
+		return this.orderItemRepository.findById(orderItemId)
+				.map(OrderItemMappingHelper::map)
+				.map(this::enrichAsync)
+				.orElseThrow(() -> new OrderItemNotFoundException(String.format("OrderItem with id: %s not found", orderItemId)));
+	}
+	
+	private CompletableFuture<OrderItemDto> enrichAsync(final OrderItemDto orderItemDto) {
+		return this.fetchProductAsync(orderItemDto.getProductDto().getProductId())
+				.thenCombine(this.fetchOrderAsync(orderItemDto.getOrderDto().getOrderId()),
+						(productDto, orderDto) -> {
+							orderItemDto.setProductDto(productDto);
+							orderItemDto.setOrderDto(orderDto);
+							return orderItemDto;
+						});
+	}
+	
+	private ProductDto fetchProduct(final Integer productId) {
+		return this.hedger.execute("PRODUCT-SERVICE", attempt -> this.bulkheads.submit("productService", attempt),
+				() -> this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+						.PRODUCT_SERVICE_API_URL + "/" + productId, ProductDto.class));
+	}
+	
+	private CompletableFuture<ProductDto> fetchProductAsync(final Integer productId) {
+		return this.hedger.submit("PRODUCT-SERVICE", attempt -> this.bulkheads.submit("productService", attempt),
+				() -> this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+						.PRODUCT_SERVICE_API_URL + "/" + productId, ProductDto.class));
+	}
+	
+	private CompletableFuture<OrderDto> fetchOrderAsync(final Integer orderId) {
+		return this.bulkheads.submit("orderService", () -> this.restTemplate
+				.getForObject(AppConstant.DiscoveredDomainsApi
+						.ORDER_SERVICE_API_URL + "/" + orderId, OrderDto.class));
+	}
+	
 	
 	
 }
@@ -94,3 +171,4 @@ public class OrderItemServiceImpl implements OrderItemService {
 
 
 
+
@@ -0,0 +1,23 @@
+package com.selimhorri.app.resource;
+
+import java.util.List;
+
+import com.selimhorri.commons.test.AbstractListQueryCountTests;
+
+class ListQueryCountTests extends AbstractListQueryCountTests {
+	
+	ListQueryCountTests() {
+		super("shipping-service", List.of("/api/shippings"), List.of("/api/shippings/async"));
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -13,6 +13,7 @@ public class MapperConfig {
 	@Bean
 	public ObjectMapper objectMapperBean() {
 		return new JsonMapper()
+				.findAndRegisterModules()
 				.enable(SerializationFeature.INDENT_OUTPUT);
 	}
 	
@@ -1,11 +1,16 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.selimhorri.app.domain.Address;
 
 public interface AddressRepository extends JpaRepository<Address, Integer> {
 	
-	
+	@Override
+	@EntityGraph(attributePaths = { "user", "user.credential" })
+	List<Address> findAll();
 	
 }
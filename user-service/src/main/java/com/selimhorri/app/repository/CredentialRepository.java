@@ -1,7 +1,9 @@
 package com.selimhorri.app.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.selimhorri.app.domain.Credential;
@@ -10,4 +12,8 @@ public interface CredentialRepository extends JpaRepository<Credential, Integer>
 	
 	Optional<Credential> findByUsername(final String username);
 	
+	@Override
+	@EntityGraph(attributePaths = "user")
+	List<Credential> findAll();
+	
 }
@@ -0,0 +1,23 @@
+package com.selimhorri.app.resource;
+
+import java.util.List;
+
+import com.selimhorri.commons.test.AbstractListQueryCountTests;
+
+class ListQueryCountTests extends AbstractListQueryCountTests {
+	
+	ListQueryCountTests() {
+		super("user-service", List.of("/api/users", "/api/credentials", "/api/address", "/api/verificationTokens"), List.of());
+	}
+	
+}
+
+
+
+
+
+
+
+
+
+